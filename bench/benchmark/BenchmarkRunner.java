@@ -0,0 +1,32 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so that each result reports the allocation rate
+ * ({@code gc.alloc.rate.norm}) alongside the throughput.
+ *
+ * Usage (from the root of the project): {@code java benchmark.BenchmarkRunner [benchmarkRegex]}
+ *
+ * @author Harry Felton - 18032692
+ */
+public class BenchmarkRunner {
+    /**
+     * Entry point of the benchmark runner
+     *
+     * @param args A regular expression selecting the benchmarks to run (optional, defaults to every benchmark)
+     * @throws RunnerException If the benchmarks fail to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "benchmark\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import main.Map;
+import main.PacmanGame;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Shared setup used by the benchmarks. Every benchmark uses a fixed seed, so that each run measures the same work.
+ *
+ * The benchmarks load the games resources using relative paths, so must be run from the root of the project.
+ *
+ * @author Harry Felton - 18032692
+ */
+final class BenchmarkSupport {
+    /**
+     * The seed used for every random choice made while setting up a benchmark
+     */
+    static final long SEED = 0x5eed_5eedL;
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Creates a headless game to benchmark against
+     *
+     * @return The headless game
+     */
+    static PacmanGame createGame() {
+        return PacmanGame.createHeadlessGame();
+    }
+
+    /**
+     * Finds every grid position on the map provided that is a path (not a wall)
+     *
+     * @param map The map to search
+     * @return The grid positions of the paths, from left to right and top to bottom
+     */
+    static Point[] findPathCells(Map map) {
+        ArrayList<Point> cells = new ArrayList<>();
+        for(int y = 0; y < PacmanGame.VERTICAL_GRID_COUNT; y++) {
+            for(int x = 0; x < PacmanGame.HORIZONTAL_GRID_COUNT; x++) {
+                if(map.isPath(x, y)) {
+                    cells.add(new Point(x, y));
+                }
+            }
+        }
+
+        return cells.toArray(new Point[0]);
+    }
+
+    /**
+     * Creates a random generator using {@code SEED}
+     *
+     * @return The random generator
+     */
+    static SplittableRandom createRandom() {
+        return new SplittableRandom(SEED);
+    }
+}
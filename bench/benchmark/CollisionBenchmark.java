@@ -0,0 +1,138 @@
+package benchmark;
+
+import controllers.CollisionController;
+import controllers.MapController;
+import entity.PacmanEntity;
+import entity.ghost.GhostEntity;
+import main.Map;
+import main.PacmanGame;
+import main.PickupField;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the two collision tests made as entities move, at every path on the map (one operation tests every box):
+ * {@code CollisionController.checkCollision}, which tests the walls and the other entities, and
+ * {@code PickupField.collect}, which tests the point and fruit pickups. Pickups aren't entities, so are never
+ * tested by {@code checkCollision}.
+ *
+ * {@code checkCollision} is tested as if a ghost were standing at each path; ghosts don't affect the entities they
+ * collide with, so the game is left unchanged between invocations. {@code collect} is tested as if Pacman were
+ * standing at each path, collecting every pickup on the map, so the pickups are placed again before each invocation.
+ *
+ * @author Harry Felton - 18032692
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private CollisionController collisions;
+
+    /**
+     * The ghost used as the source of each collision
+     */
+    private GhostEntity source;
+
+    /**
+     * The collision boxes tested; one for every path on the map
+     */
+    private Rectangle[] collisionBoxes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PacmanGame game = BenchmarkSupport.createGame();
+        game.startGame(BenchmarkSupport.SEED);
+
+        collisions = game.getCollisionController();
+        source = game.getEntityController().getGhosts().get(0);
+        collisionBoxes = createCollisionBoxes(game.getMapController().getSelectedMap());
+    }
+
+    /**
+     * Creates a collision box the size of a grid position at every path on the map provided
+     *
+     * @param map The map to create the boxes on
+     * @return The collision boxes
+     */
+    private static Rectangle[] createCollisionBoxes(Map map) {
+        Point[] cells = BenchmarkSupport.findPathCells(map);
+        Rectangle[] boxes = new Rectangle[cells.length];
+        for(int i = 0; i < cells.length; i++) {
+            boxes[i] = new Rectangle(cells[i].x * PacmanGame.GRID_SIZE, cells[i].y * PacmanGame.GRID_SIZE, PacmanGame.GRID_SIZE, PacmanGame.GRID_SIZE);
+        }
+
+        return boxes;
+    }
+
+    @Benchmark
+    public void checkCollision(Blackhole blackhole) {
+        for(Rectangle box : collisionBoxes) {
+            blackhole.consume(collisions.checkCollision(source, box));
+        }
+    }
+
+    @Benchmark
+    public PickupField collect(PickupState state) {
+        for(Rectangle box : state.collisionBoxes) {
+            state.pickupField.collect(state.pacman, box);
+        }
+
+        return state.pickupField;
+    }
+
+    /**
+     * The state used by {@code collect}; kept apart from the rest of the benchmark, so that the pickups are only
+     * placed again before invocations of {@code collect}
+     */
+    @State(Scope.Thread)
+    public static class PickupState {
+        /**
+         * The time passed to the {@code EffectController} to expire every effect spawned by collecting pickups
+         */
+        private static final double EFFECT_EXPIRY_TIME = 60;
+
+        private PacmanGame game;
+
+        private MapController mapController;
+
+        /**
+         * The Pacman collecting the pickups
+         */
+        private PacmanEntity pacman;
+
+        /**
+         * The field the pickups are collected from; placed again before each invocation
+         */
+        private PickupField pickupField;
+
+        /**
+         * The collision boxes tested; one for every path on the map
+         */
+        private Rectangle[] collisionBoxes;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            game = BenchmarkSupport.createGame();
+            game.startGame(BenchmarkSupport.SEED);
+
+            mapController = game.getMapController();
+            pacman = game.getEntityController().getPlayer();
+            collisionBoxes = createCollisionBoxes(mapController.getSelectedMap());
+        }
+
+        /**
+         * Places every pickup again, and expires the effects spawned by the last invocation
+         */
+        @Setup(Level.Invocation)
+        public void resetPickups() {
+            game.getEffectsController().update(EFFECT_EXPIRY_TIME);
+            pickupField = mapController.preparePickupField();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package benchmark;
+
+import controllers.MapController;
+import entity.Entity;
+import exception.InvalidMapException;
+import main.Map;
+import main.PacmanGame;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading maps from file, testing collision boxes against the walls of the selected map, and calculating
+ * flank routes.
+ *
+ * @author Harry Felton - 18032692
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+    /**
+     * The amount of collision boxes tested against the walls of the map
+     */
+    private static final int COLLISION_BOX_COUNT = 256;
+
+    /**
+     * The distance ahead of Pacman the {@code FlankGhostEntity} searches
+     */
+    private static final int FLANK_DISTANCE = 5;
+
+    private static final Entity.DIRECTION[] FLANK_DIRECTIONS = {
+            Entity.DIRECTION.UP,
+            Entity.DIRECTION.RIGHT,
+            Entity.DIRECTION.DOWN,
+            Entity.DIRECTION.LEFT
+    };
+
+    /**
+     * The ID of the map used
+     */
+    @Param({"0", "1", "2"})
+    public int mapId;
+
+    private MapController mapController;
+
+    private Map map;
+
+    /**
+     * The file the map used was loaded from
+     */
+    private String mapFile;
+
+    /**
+     * Randomly placed, entity sized, collision boxes covering the whole game
+     */
+    private Rectangle[] collisionBoxes;
+
+    /**
+     * The grid positions of every path on the map
+     */
+    private Point[] pathCells;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mapController = BenchmarkSupport.createGame().getMapController();
+        map = mapController.selectMap(mapId);
+        mapFile = "resources/maps/level" + mapId + ".map";
+        pathCells = BenchmarkSupport.findPathCells(map);
+
+        SplittableRandom r = BenchmarkSupport.createRandom();
+        collisionBoxes = new Rectangle[COLLISION_BOX_COUNT];
+        for(int i = 0; i < COLLISION_BOX_COUNT; i++) {
+            int x = r.nextInt(PacmanGame.WIDTH - PacmanGame.GRID_SIZE);
+            int y = r.nextInt(PacmanGame.HEIGHT - PacmanGame.GRID_SIZE);
+            collisionBoxes[i] = new Rectangle(x, y, PacmanGame.GRID_SIZE, PacmanGame.GRID_SIZE);
+        }
+    }
+
+    @Benchmark
+    public Map loadFromFile() throws InvalidMapException {
+        return Map.loadFromFile(mapFile);
+    }
+
+    /**
+     * One operation tests every collision box
+     */
+    @Benchmark
+    public void checkSelectedMapCollision(Blackhole blackhole) {
+        for(Rectangle box : collisionBoxes) {
+            blackhole.consume(mapController.checkSelectedMapCollision(box));
+        }
+    }
+
+    /**
+     * One operation calculates a flank route from every path on the map, each in a different direction
+     */
+    @Benchmark
+    public void calculateFlankRoute(Blackhole blackhole) {
+        for(int i = 0; i < pathCells.length; i++) {
+            blackhole.consume(map.calculateFlankRoute(pathCells[i], FLANK_DISTANCE, FLANK_DIRECTIONS[i % FLANK_DIRECTIONS.length]));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package benchmark;
+
+import controllers.MapController;
+import entity.ghost.GhostEntity;
+import exception.InvalidPathFindingException;
+import main.Map;
+import main.PacmanGame;
+import main.Path;
+import main.PathFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code PathFinder.calculatePath} searching on each of the shipped maps, cycling through a fixed set of
+ * randomly chosen start and target positions.
+ *
+ * A seeded game is started on the map, and it's ghosts are scattered across the map; only routes whose shortest
+ * route passes through a ghost are chosen, so that every request is searched rather than answered from the maps
+ * precomputed routes. The precomputed routes themselves are measured by {@code RouteBenchmark}.
+ *
+ * @author Harry Felton - 18032692
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+    /**
+     * The amount of start and target pairs cycled through
+     */
+    private static final int ROUTE_COUNT = 256;
+
+    /**
+     * The most start and target pairs tried while looking for routes blocked by a ghost
+     */
+    private static final int MAX_ROUTE_ATTEMPTS = 100_000;
+
+    /**
+     * The ID of the map to path find on
+     */
+    @Param({"0", "1", "2"})
+    public int mapId;
+
+    /**
+     * The maximum depth of each search; the ghosts search to a depth of 20, whereas a depth of 361 (every grid
+     * position) always finds a path if one exists.
+     */
+    @Param({"20", "361"})
+    public int maxDepth;
+
+    private PathFinder pathFinder;
+
+    /**
+     * The start and target positions of each route, stored as {@code sX, sY, tX, tY}
+     */
+    private int[] routes;
+
+    private int routeCount = 0;
+
+    private int nextRoute = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws InvalidPathFindingException {
+        PacmanGame game = BenchmarkSupport.createGame();
+        game.startGame(BenchmarkSupport.SEED);
+
+        MapController mapController = game.getMapController();
+        Map map = mapController.selectMap(mapId);
+        game.getEntityController().initWithPlayer(game.getPlayer());
+        pathFinder = mapController.getPathFinder();
+
+        Point[] cells = BenchmarkSupport.findPathCells(map);
+        SplittableRandom r = BenchmarkSupport.createRandom();
+
+        // Scatter the ghosts, so that they stand on the routes between the rest of the map
+        HashSet<Point> ghostCells = new HashSet<>();
+        List<GhostEntity> ghosts = game.getEntityController().getGhosts();
+        for(GhostEntity ghost : ghosts) {
+            Point cell = cells[r.nextInt(cells.length)];
+            ghost.setX(cell.x * PacmanGame.GRID_SIZE);
+            ghost.setY(cell.y * PacmanGame.GRID_SIZE);
+            ghostCells.add(cell);
+        }
+
+        routes = new int[ROUTE_COUNT * 4];
+        for(int attempt = 0; attempt < MAX_ROUTE_ATTEMPTS && routeCount < ROUTE_COUNT; attempt++) {
+            Point start = cells[r.nextInt(cells.length)];
+            Point target = cells[r.nextInt(cells.length)];
+            if(!isRouteBlocked(map.traceRoute(start.x, start.y, target.x, target.y), ghostCells)) {
+                continue;
+            }
+
+            int i = routeCount++ * 4;
+            routes[i] = start.x;
+            routes[i + 1] = start.y;
+            routes[i + 2] = target.x;
+            routes[i + 3] = target.y;
+        }
+
+        if(routeCount == 0) {
+            throw new IllegalStateException("No routes blocked by a ghost were found on map " + mapId);
+        }
+    }
+
+    /**
+     * Tests if any step of the route provided, after the first, is occupied by a ghost
+     *
+     * @param route The route to test, or null if there is none
+     * @param ghostCells The grid positions occupied by ghosts
+     * @return True if a ghost is standing on the route
+     */
+    private static boolean isRouteBlocked(Path route, HashSet<Point> ghostCells) {
+        if(route == null) return false;
+
+        for(int i = 1; i < route.getStepCount(); i++) {
+            if(ghostCells.contains(route.getStep(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Benchmark
+    public Path calculatePath() {
+        int i = nextRoute;
+        nextRoute = (i + 4) % (routeCount * 4);
+
+        return pathFinder.calculatePath(routes[i], routes[i + 1], routes[i + 2], routes[i + 3], maxDepth);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import entity.Entity;
+import main.Map;
+import main.Path;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the shortest routes precomputed by each of the shipped maps, cycling through a fixed set of
+ * randomly chosen start and target positions; both the first step of a route ({@code Map.nextStep}, as followed by
+ * the ghosts) and the whole route ({@code Map.traceRoute}).
+ *
+ * @author Harry Felton - 18032692
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteBenchmark {
+    /**
+     * The amount of start and target pairs cycled through
+     */
+    private static final int ROUTE_COUNT = 256;
+
+    /**
+     * The ID of the map to look routes up on
+     */
+    @Param({"0", "1", "2"})
+    public int mapId;
+
+    private Map map;
+
+    /**
+     * The start and target positions of each route, stored as {@code sX, sY, tX, tY}
+     */
+    private int[] routes;
+
+    private int nextRoute = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        map = BenchmarkSupport.createGame().getMapController().selectMap(mapId);
+
+        Point[] cells = BenchmarkSupport.findPathCells(map);
+        SplittableRandom r = BenchmarkSupport.createRandom();
+        routes = new int[ROUTE_COUNT * 4];
+        for(int i = 0; i < ROUTE_COUNT; i++) {
+            Point start = cells[r.nextInt(cells.length)];
+            Point target = cells[r.nextInt(cells.length)];
+            routes[i * 4] = start.x;
+            routes[i * 4 + 1] = start.y;
+            routes[i * 4 + 2] = target.x;
+            routes[i * 4 + 3] = target.y;
+        }
+    }
+
+    @Benchmark
+    public Entity.DIRECTION nextStep() {
+        int i = nextRoute;
+        nextRoute = (i + 4) % routes.length;
+
+        return map.nextStep(routes[i], routes[i + 1], routes[i + 2], routes[i + 3]);
+    }
+
+    @Benchmark
+    public Path traceRoute() {
+        int i = nextRoute;
+        nextRoute = (i + 4) % routes.length;
+
+        return map.traceRoute(routes[i], routes[i + 1], routes[i + 2], routes[i + 3]);
+    }
+}
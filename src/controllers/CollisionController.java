@@ -1,10 +1,12 @@
 package controllers;
 
 import entity.Entity;
+import events.CollisionCheckEvent;
 import interfaces.CollisionElement;
 import main.PacmanGame;
 
 import java.awt.*;
+import java.util.ArrayList;
 
 /**
  * CollisionController is responsible for checking for collisions between entities running inside the
@@ -36,6 +38,16 @@ public class CollisionController extends Controller {
      */
     MapController mapping;
 
+    /**
+     * Re-used list holding the entities found near the collision box being tested
+     */
+    private final ArrayList<Entity> nearbyEntities = new ArrayList<>();
+
+    /**
+     * The amount of nearby entities tested by the last collision check; reported by the {@code CollisionCheckEvent}
+     */
+    private int candidatesTested = 0;
+
     /**
      * Instantiate the controller by passing the SnakeGame instance to the super class,
      * and storing a reference to the EntityController from the game.
@@ -57,6 +69,32 @@ public class CollisionController extends Controller {
      * @return If a collision occurred
      */
     public boolean checkCollision(CollisionElement source, Rectangle collisionBox) {
+        CollisionCheckEvent event = new CollisionCheckEvent();
+        event.begin();
+
+        boolean collided = testCollision(source, collisionBox);
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.source = source.getClass().getSimpleName();
+            event.candidatesTested = candidatesTested;
+            event.collided = collided;
+            event.commit();
+        }
+
+        return collided;
+    }
+
+    /**
+     * Tests the {@code collisionBox} provided for collisions; see {@code checkCollision}.
+     *
+     * @param source The source of the collision
+     * @param collisionBox The collision boundary to be tested
+     * @return If a collision occurred
+     */
+    private boolean testCollision(CollisionElement source, Rectangle collisionBox) {
+        candidatesTested = 0;
+
         // If the source is colliding with the game boundary
         if(collisionBox.x < 0 || collisionBox.x + collisionBox.width > PacmanGame.WIDTH || collisionBox.y < 0 || collisionBox.y + collisionBox.height > PacmanGame.HEIGHT) {
             if(source.collidedWithGameBoundary( collisionBox, COLLISION_TYPE.EDGE )) {
@@ -72,8 +110,10 @@ public class CollisionController extends Controller {
             }
         }
 
-        // Check with the entity controller for currently on-map entities
-        for(Entity p : entities.entities) {
+        // Check with the entity controller for on-map entities near the collision box
+        entities.getEntitiesNear(collisionBox, nearbyEntities);
+        for(Entity p : nearbyEntities) {
+            candidatesTested++;
             Rectangle collidedWith = p.isCollisionBoxIntersecting(collisionBox, source);
             if(collidedWith != null) {
                 if(p.collidedWithBy(collisionBox, source, collidedWith)) {
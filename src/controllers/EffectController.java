@@ -1,9 +1,11 @@
 package controllers;
 
 import effects.Effect;
+import main.CompactingStore;
+import main.DirtyRegion;
 import main.PacmanGame;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /**
  * EffectController facilitates the spawning and animation of effects in the game
@@ -17,21 +19,28 @@ public class EffectController extends Controller {
      * @see #redraw()
      * @see #update(double)
      */
-    protected LinkedList<Effect> effects = new LinkedList<>();
+    protected final CompactingStore<Effect> effects = new CompactingStore<>();
 
     /**
      * The effects to be removed after the next tick update
      *
      * @see #removeEffects()
      */
-    protected LinkedList<Effect> effectsToRemove = new LinkedList<>();
+    protected final ArrayList<Effect> effectsToRemove = new ArrayList<>();
 
     /**
      * The effects to spawn before the next tick cycle starts
      *
      * @see #spawnEffects()
      */
-    protected LinkedList<Effect> effectsToSpawn = new LinkedList<>();
+    protected final ArrayList<Effect> effectsToSpawn = new ArrayList<>();
+
+    /**
+     * The areas of effects removed since the last frame was drawn; these must be drawn again to erase them
+     *
+     * @see #addDirtyRegion(DirtyRegion)
+     */
+    protected final DirtyRegion vacatedRegion = new DirtyRegion();
 
     /**
      * Instantiates the {@code EffectController} and stores the {@code SnakeGame} instance for use later
@@ -64,15 +73,20 @@ public class EffectController extends Controller {
     }
 
     /**
-     * Removes all {@code Effect} instances queued for destruction
+     * Removes all {@code Effect} instances queued for destruction, and then compacts the {@code effects} once
      *
      * @see #effectsToRemove
      * @see #destroyEffect(Effect)
      * @see #update(double)
      */
     private void removeEffects() {
-        effects.removeAll(effectsToRemove);
+        for(Effect effect : effectsToRemove) {
+            if(effects.remove(effect)) {
+                effect.addDirtyRegion(vacatedRegion);
+            }
+        }
         effectsToRemove.clear();
+        effects.compact();
     }
 
     /**
@@ -83,7 +97,9 @@ public class EffectController extends Controller {
      * @see #update(double)
      */
     private void spawnEffects() {
-        effects.addAll(effectsToSpawn);
+        for(Effect effect : effectsToSpawn) {
+            effects.add(effect);
+        }
         effectsToSpawn.clear();
     }
 
@@ -105,6 +121,21 @@ public class EffectController extends Controller {
         removeEffects();
     }
 
+    /**
+     * Adds the areas of the game changed by effects since the last frame to the region provided; the area of each
+     * effect being shown, and of each effect removed since.
+     *
+     * @param region The region to add to
+     */
+    public void addDirtyRegion(DirtyRegion region) {
+        region.add(vacatedRegion);
+        vacatedRegion.clear();
+
+        for(Effect effect : effects) {
+            effect.addDirtyRegion(region);
+        }
+    }
+
     /**
      * Requests each registered {@code effect} to redraw itself.
      */
@@ -6,20 +6,27 @@ import entity.ghost.DirectGhostEntity;
 import entity.ghost.FlankGhostEntity;
 import entity.ghost.GhostEntity;
 import entity.ghost.SpeedFlankGhostEntity;
-import entity.pickup.Pickup;
-import entity.pickup.PointPickup;
+import main.CompactingStore;
+import main.DirtyRegion;
+import main.EntityGrid;
+import main.Instrumentation;
+import main.LatencyHistogram;
 import main.Player;
-import main.RandomPoint;
 import main.PacmanGame;
+import main.PickupField;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * The EntityController class handles the adding, removal, updating and drawing of onscreen elements, such
- * as {@code PacmanEntity}, ghosts, and associated pickups
+ * as {@code PacmanEntity} and the ghosts. The point and fruit pickups placed by the map are not entities; they're
+ * held by the maps {@code PickupField}.
  *
  * @author Harry Felton - 18032692
  */
@@ -31,25 +38,51 @@ public class EntityController extends Controller {
      * @see #update(double)
      * @see #redraw()
      */
-    protected final LinkedList<Entity> entities = new LinkedList<>();
+    protected final CompactingStore<Entity> entities = new CompactingStore<>();
+
+    protected boolean sceneReinitialisationQueued = false;
 
     /**
-     * Entities to be destroyed after the end of the next update cycle
+     * The {@code PacmanEntity} currently registered, or null if there is none. Kept up to date as entities are
+     * added and removed, so that it can be found without searching every entity.
      *
-     * @see #destroyPickup(Pickup)
-     * @see #destroyPickups()
+     * @see #getPlayer()
      */
-    protected final LinkedList<Entity> entitiesToDestroy = new LinkedList<>();
+    protected PacmanEntity player;
 
     /**
-     * Entities to be spawned at the beginning of an update cycle
+     * The ghosts currently registered, in the order they were added
      *
-     * @see #spawnPickup(Pickup, Point)
-     * @see #spawnPickups()
+     * @see #getGhosts()
      */
-    protected final LinkedList<Entity> entitiesToSpawn = new LinkedList<>();
+    protected final ArrayList<GhostEntity> ghosts = new ArrayList<>();
 
-    protected boolean sceneReinitialisationQueued = false;
+    /**
+     * Read-only view of the {@code ghosts}, handed out so that no list is created per call
+     */
+    private final List<GhostEntity> ghostsView = Collections.unmodifiableList(ghosts);
+
+    /**
+     * Spatial index of the {@code entities}, used to find the entities near a particular area without
+     * searching every entity. Kept up to date as entities are spawned, moved and destroyed.
+     *
+     * @see #getEntitiesNear(Rectangle, List)
+     */
+    protected final EntityGrid entityGrid = new EntityGrid();
+
+    /**
+     * The areas last drawn in by entities that have since been removed; these must be drawn again to erase them
+     *
+     * @see #addDirtyRegion(DirtyRegion)
+     */
+    protected final DirtyRegion vacatedRegion = new DirtyRegion();
+
+    /**
+     * The histograms used to time entity updates, by the class of the entity; only used when instrumentation is enabled
+     *
+     * @see Instrumentation
+     */
+    private final HashMap<Class<?>, LatencyHistogram> updateHistograms = new HashMap<>();
 
     /**
      * Instantiates the controller with the {@code SnakeGame} instance to be used later
@@ -67,8 +100,10 @@ public class EntityController extends Controller {
      */
     public void initWithPlayer(Player player) {
         entities.clear();
-        entitiesToSpawn.clear();
-        entitiesToDestroy.clear();
+        entityGrid.clear();
+        this.player = null;
+        ghosts.clear();
+        vacatedRegion.clear();
 
         // Spawn Pacman
         initialisePacman(player);
@@ -89,7 +124,7 @@ public class EntityController extends Controller {
     private void initialisePacman(Player player) {
         Point p = gameInstance.getMapController().getPacmanSpawnPoint();
         PacmanEntity e = new PacmanEntity(gameInstance, player, p.x, p.y);
-        entities.add(e);
+        addEntity(e);
     }
 
     /**
@@ -111,16 +146,15 @@ public class EntityController extends Controller {
 
             x++;
             if (x > 2) x = 0;
-            entities.add(g);
+            addEntity(g);
         }
     }
 
     /**
-     * Spawns point pickups as specified by the map
+     * Places point pickups as specified by the map in a new {@code PickupField}
      */
     private void initialiseMapPickups() {
-        ArrayList<Pickup> pointPickups = gameInstance.getMapController().getPointPickups();
-        entities.addAll(pointPickups);
+        gameInstance.getMapController().preparePickupField();
     }
 
     /**
@@ -129,7 +163,12 @@ public class EntityController extends Controller {
      * Game pickups will be unaffected.
      */
     public void reinitialiseScene() {
-        entities.removeIf((Entity entity) -> !(entity instanceof Pickup));
+        entities.removeIf((Entity entity) -> {
+            entityGrid.remove(entity);
+            unindexEntity(entity);
+            vacatedRegion.add(entity.getDrawnBounds());
+            return true;
+        });
         initialisePacman(gameInstance.getPlayer());
         initialiseGhosts();
     }
@@ -139,32 +178,55 @@ public class EntityController extends Controller {
     }
 
     /**
-     * Spawns any entities that are currently queued, and then send an update tick to all currently registered. After
-     * completion, remove any entities that have been queued for removal
+     * Sends an update tick to all entities currently registered, after reinitialising the scene if queued. After
+     * completion, the {@code entities} are compacted.
      *
      * @param dt Time passed since last tick
      * @see #entities
-     * @see #entitiesToSpawn
-     * @see #entitiesToDestroy
      */
     public void update(double dt) {
-        spawnPickups();
         if(sceneReinitialisationQueued) {
             reinitialiseScene();
             sceneReinitialisationQueued = false;
         }
 
-        int pointPickupCount = 0;
+        // The level is completed at the start of the tick after the last point pickup is collected
+        boolean levelComplete = getRemainingPointPickups() == 0;
         for (Entity entity : entities) {
-            if(entity instanceof PointPickup) pointPickupCount++;
+            long start = Instrumentation.start();
             entity.update(dt);
+            entityMoved(entity);
+            if(Instrumentation.ENABLED) {
+                Instrumentation.stop(getUpdateHistogram(entity), start);
+            }
         }
 
-        if(pointPickupCount == 0) {
+        if(levelComplete) {
             // All point pickups have been collected.
             gameInstance.levelComplete();
         }
-        destroyPickups();
+        entities.compact();
+    }
+
+    /**
+     * Returns the histogram used to time the updates of entities of the same class as the entity provided
+     *
+     * @param entity The entity being updated
+     * @return The histogram
+     */
+    private LatencyHistogram getUpdateHistogram(Entity entity) {
+        return updateHistograms.computeIfAbsent(entity.getClass(),
+                c -> Instrumentation.getHistogram("EntityController.update." + c.getSimpleName()));
+    }
+
+    /**
+     * Stores the current position of every entity as it's previous position, used to interpolate the
+     * position of entities when drawing. Called at the start of every tick.
+     */
+    public void storePreviousPositions() {
+        for(Entity entity : entities) {
+            entity.storePreviousPosition();
+        }
     }
 
     /**
@@ -179,64 +241,165 @@ public class EntityController extends Controller {
     }
 
     /**
-     * Destroys all entities that have been queued to be removed
+     * Adds the areas of the game changed by entities since the last frame to the region provided; the area each
+     * entity was drawn in during the last frame and could be drawn in during the next, the areas of entities removed
+     * since, and the grid positions of any pickups collected since.
      *
-     * @see #entitiesToDestroy
+     * @param region The region to add to
      */
-    protected void destroyPickups() {
-        entities.removeAll(entitiesToDestroy);
-        entitiesToDestroy.clear();
+    public void addDirtyRegion(DirtyRegion region) {
+        region.add(vacatedRegion);
+        vacatedRegion.clear();
+
+        for(Entity entity : entities) {
+            entity.addDirtyRegion(region);
+        }
+
+        PickupField pickupField = getPickupField();
+        if(pickupField != null) {
+            pickupField.addDirtyRegion(region);
+        }
     }
 
     /**
-     * Spawns any entities that are currently queued
+     * Registers the entity provided with this controller, and adds it to the {@code entityGrid}
      *
-     * @see #entitiesToSpawn
+     * @param entity The entity to register
      */
-    protected void spawnPickups() {
-        entities.addAll(entitiesToSpawn);
-        entitiesToSpawn.clear();
+    protected void addEntity(Entity entity) {
+        entities.add(entity);
+        entityGrid.add(entity);
+        indexEntity(entity);
     }
 
     /**
-     * Fetches the {@code PacmanEntity} instance belonging to the {@code Player} with ID {@code playerId}
+     * Adds the entity provided to the {@code player} or {@code ghosts} index matching it's type
      *
-     * @return Returns the matching {@code PacmanEntity}, or {@code null} if no match was found
+     * @param entity The entity being registered
      */
-    public PacmanEntity getPlayer() {
-        for(Entity entity : entities) {
-            if(entity instanceof PacmanEntity)
-                return (PacmanEntity)entity;
+    private void indexEntity(Entity entity) {
+        if(entity instanceof PacmanEntity pacman) {
+            player = pacman;
+        } else if(entity instanceof GhostEntity ghost) {
+            ghosts.add(ghost);
         }
+    }
+
+    /**
+     * Removes the entity provided from the {@code player} or {@code ghosts} index matching it's type
+     *
+     * @param entity The entity being removed
+     */
+    private void unindexEntity(Entity entity) {
+        if(entity == player) {
+            player = null;
+        } else if(entity instanceof GhostEntity) {
+            ghosts.remove(entity);
+        }
+    }
 
-        return null;
+    /**
+     * Updates the cells the entity provided is stored in by the {@code entityGrid}, so that it can still be found by
+     * {@code getEntitiesNear}. Called after each entity's update, and whenever an entity is placed outside of it's
+     * own update (see {@code Entity.setX} and {@code Entity.setY}).
+     *
+     * @param entity The entity that may have moved; ignored if it isn't registered
+     */
+    public void entityMoved(Entity entity) {
+        entityGrid.move(entity);
     }
 
     /**
-     * Fetches the current ghosts from the current entity list
+     * Finds the entities that may be intersecting the area provided by searching the {@code entityGrid}. Every
+     * entity intersecting the area is guaranteed to be found, in the same order as they appear in {@code entities}.
      *
-     * @return Returns the ghosts
+     * @param area The area to search
+     * @param results The list to store the entities found in; it's cleared before use
      */
-    public ArrayList<GhostEntity> getGhosts() {
-        ArrayList<GhostEntity> res = new ArrayList<>();
+    public void getEntitiesNear(Rectangle area, List<Entity> results) {
+        entityGrid.query(area, results);
+    }
+
+    /**
+     * Fetches the {@code PacmanEntity} instance currently registered
+     *
+     * @return Returns the {@code PacmanEntity}, or {@code null} if there is none
+     */
+    public PacmanEntity getPlayer() {
+        return player;
+    }
+
+    /**
+     * Fetches the ghosts currently registered
+     *
+     * @return Returns a read-only view of the ghosts, in the order they were added
+     */
+    public List<GhostEntity> getGhosts() {
+        return ghostsView;
+    }
+
+    /**
+     * Returns the amount of point pickups (dots) remaining in the level
+     *
+     * @return The amount of point pickups remaining
+     * @see PickupField#getRemainingPointPickups()
+     */
+    public int getRemainingPointPickups() {
+        PickupField pickupField = getPickupField();
+        return pickupField == null ? 0 : pickupField.getRemainingPointPickups();
+    }
+
+    /**
+     * Fetches the pickup field holding the point and fruit pickups of the selected map
+     *
+     * @return Returns the pickup field, or null if no map is selected
+     */
+    public PickupField getPickupField() {
+        return gameInstance.getMapController().getPickupField();
+    }
+
+    /**
+     * Calculates a hash of the position and direction of every entity, in the order they were added, and of the
+     * pickups remaining in the {@code PickupField}. Two games that have played out identically will always produce
+     * the same hash.
+     *
+     * @return The hash of the entities
+     * @see PacmanGame#getStateHash()
+     */
+    public long getStateHash() {
+        long hash = PacmanGame.STATE_HASH_BASIS;
         for(Entity e : entities) {
-            if(e instanceof GhostEntity) {
-                res.add((GhostEntity)e);
-            }
+            hash = PacmanGame.mixStateHash(hash, e.getClass().getName().hashCode());
+            hash = PacmanGame.mixStateHash(hash, e.getX());
+            hash = PacmanGame.mixStateHash(hash, e.getY());
+            hash = PacmanGame.mixStateHash(hash, e.getDirection().ordinal());
+        }
+
+        PickupField pickupField = getPickupField();
+        if(pickupField != null) {
+            hash = pickupField.mixStateHash(hash);
         }
 
-        return res;
+        return hash;
+    }
+
+    /**
+     * Returns the amount of entities currently in the game
+     *
+     * @return The amount of entities
+     */
+    public int getEntityCount() {
+        return entities.size();
     }
 
     /**
      * Handles incoming key presses by dispatching them to the players currently registered
      *
-     * @param event The {@code KeyEvent} to be dispatched
+     * @param keycode The key code of the key pressed, as defined by {@code KeyEvent}
      * @see #getPlayer()
      */
-    public void keyPressed(KeyEvent event) {
+    public void keyPressed(int keycode) {
         PacmanEntity player = getPlayer();
-        int keycode = event.getKeyCode();
         switch(keycode) {
             case KeyEvent.VK_W:
                 player.changeDirection(PacmanEntity.DIRECTION.UP);
@@ -255,40 +418,4 @@ public class EntityController extends Controller {
                 break;
         }
     }
-
-    /**
-     * Given a {@code Pickup} instance, this function generates a random point for it, ensuring that
-     * the pickup is clear of any other entities inside the game.
-     *
-     * @param e The {@code Pickup} instance to be spawned
-     */
-    public void spawnPickupRandom(Pickup e) {
-        RandomPoint p = new RandomPoint(e);
-        p.selectPoint();
-        spawnPickup(e, p);
-    }
-
-    /**
-     * Spawns the {@code Pickup} instance at the {@code Point} provided by setting the {@code x} and {@code y}
-     * position of the {@code Pickup} to that of the {@code Point} provided
-     *
-     * @param e The {@code Pickup} instance to be spawned
-     * @param p The {@code Point} to be used to place the {@code Pickup}
-     */
-    public void spawnPickup(Pickup e, Point p) {
-        e.setX(p.x);
-        e.setY(p.y);
-
-        entitiesToSpawn.add(e);
-    }
-
-    /**
-     * Queues the given {@code Pickup} instance to be destroyed from the controller
-     *
-     * @param p The {@code Pickup} instance to be removed
-     * @see #destroyPickups()
-     */
-    public void destroyPickup(Pickup p) {
-        entitiesToDestroy.add(p);
-    }
 }
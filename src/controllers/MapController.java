@@ -1,13 +1,15 @@
 package controllers;
 
-import entity.pickup.Pickup;
-import entity.pickup.PointPickup;
+import exception.InvalidPathFindingException;
+import events.MapSelectEvent;
 import main.Map;
 import main.PacmanGame;
+import main.PathFinder;
+import main.PickupField;
 
 import java.awt.*;
+import java.awt.image.VolatileImage;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.LinkedList;
 
 /**
@@ -21,6 +23,40 @@ public class MapController extends Controller {
     protected final LinkedList<Map> maps = new LinkedList<>();
     protected Map selectedMap;
 
+    /**
+     * The PathFinder bound to the selected map; created when the map is selected and re-used
+     * for every path calculated on it.
+     *
+     * @see #getPathFinder()
+     */
+    protected PathFinder pathFinder;
+
+    /**
+     * The selected map, pre-rendered so that it can be drawn with a single image draw rather than
+     * drawing every grid position each frame.
+     *
+     * @see #drawSelectedMap()
+     */
+    protected VolatileImage mapLayer;
+
+    /**
+     * Set when the {@code mapLayer} no longer holds the selected map, and must be rendered again before use
+     */
+    protected boolean mapLayerInvalid = true;
+
+    /**
+     * The pickups of the selected map, pre-rendered so that they can be drawn over the {@code mapLayer} with a single
+     * image draw. Pickups are cleared from the layer as they're collected, rather than the layer being rendered again.
+     *
+     * @see #drawPickupLayer(Graphics2D, GraphicsConfiguration)
+     */
+    protected VolatileImage pickupLayer;
+
+    /**
+     * The {@code PickupField} rendered on the {@code pickupLayer}, or null if the layer must be rendered again
+     */
+    protected PickupField pickupLayerField;
+
     /**
      * The MapController constructor, attempts to load the maps from the 'resources/maps/' directory
      * and handles any arising exceptions.
@@ -88,41 +124,136 @@ public class MapController extends Controller {
     public void drawSelectedMap() {
         if(selectedMap == null) return;
 
-        selectedMap.draw(gameInstance);
+        Graphics2D g = gameInstance.getGameGraphics();
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        do {
+            // The contents of a volatile image can be lost at any time; check it's still usable before each draw
+            int status = mapLayer == null ? VolatileImage.IMAGE_INCOMPATIBLE : mapLayer.validate(gc);
+            if(status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                mapLayer = gc.createCompatibleVolatileImage(PacmanGame.WIDTH, PacmanGame.HEIGHT);
+                mapLayerInvalid = true;
+            } else if(status == VolatileImage.IMAGE_RESTORED) {
+                mapLayerInvalid = true;
+            }
+
+            if(mapLayerInvalid) {
+                renderMapLayer();
+            }
+
+            g.drawImage(mapLayer, 0, 0, null);
+        } while(mapLayer.contentsLost());
+
+        drawPickupLayer(g, gc);
+    }
+
+    /**
+     * Draws the pickups remaining on the selected map over the map. The {@code pickupLayer} is only rendered in
+     * full when a new {@code PickupField} is prepared (or the layer is lost); otherwise, only the pickups
+     * collected since the last frame are cleared from it.
+     *
+     * @param g The graphics to draw with
+     * @param gc The configuration of the device being drawn to
+     */
+    private void drawPickupLayer(Graphics2D g, GraphicsConfiguration gc) {
+        PickupField field = selectedMap.getPickupField();
+        if(field == null) return;
+
+        do {
+            int status = pickupLayer == null ? VolatileImage.IMAGE_INCOMPATIBLE : pickupLayer.validate(gc);
+            if(status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                pickupLayer = gc.createCompatibleVolatileImage(PacmanGame.WIDTH, PacmanGame.HEIGHT, Transparency.TRANSLUCENT);
+                pickupLayerField = null;
+            } else if(status == VolatileImage.IMAGE_RESTORED) {
+                pickupLayerField = null;
+            }
+
+            if(field != pickupLayerField || field.hasCollected()) {
+                renderPickupLayer(field);
+            }
+
+            g.drawImage(pickupLayer, 0, 0, null);
+        } while(pickupLayer.contentsLost());
+    }
+
+    /**
+     * Brings the {@code pickupLayer} up to date with the field provided; rendering every pickup if the layer holds a
+     * different field, otherwise only clearing the pickups collected since it was last rendered.
+     *
+     * @param field The field to render
+     */
+    private void renderPickupLayer(PickupField field) {
+        Graphics2D layerGraphics = pickupLayer.createGraphics();
+        try {
+            if(field != pickupLayerField) {
+                layerGraphics.setComposite(AlphaComposite.Clear);
+                layerGraphics.fillRect(0, 0, PacmanGame.WIDTH, PacmanGame.HEIGHT);
+                layerGraphics.setComposite(AlphaComposite.SrcOver);
+
+                field.draw(layerGraphics);
+                pickupLayerField = field;
+            } else {
+                field.clearCollected(layerGraphics);
+            }
+        } finally {
+            layerGraphics.dispose();
+        }
+    }
+
+    /**
+     * Renders the selected map on to the {@code mapLayer}
+     */
+    private void renderMapLayer() {
+        Graphics2D layerGraphics = mapLayer.createGraphics();
+        try {
+            selectedMap.draw(layerGraphics);
+        } finally {
+            layerGraphics.dispose();
+        }
+
+        mapLayerInvalid = false;
     }
 
     /**
-     * Tests the collision box provided against the map. Each point in the map is iterated over and
-     * expanded to the specified grid size when testing.
+     * Tests the collision box provided against the map. Only the grid positions overlapped by the collision
+     * box are tested, row by row.
      *
      * @param collisionBox The collision to test against
      * @return Returns the boundary of the map that was collided with, or null if no collision found.
+     * @see #checkSelectedMapCollision(int, int, int, int)
      */
     public Rectangle checkSelectedMapCollision(Rectangle collisionBox) {
-        if(selectedMap == null) {
+        return checkSelectedMapCollision(collisionBox.x, collisionBox.y, collisionBox.width, collisionBox.height);
+    }
+
+    /**
+     * Tests the collision box described by the position and size provided against the map. Only the grid
+     * positions overlapped by the collision box are tested, row by row, and no objects are created.
+     *
+     * @param x The X position of the collision box
+     * @param y The Y position of the collision box
+     * @param width The width of the collision box
+     * @param height The height of the collision box
+     * @return Returns the boundary of the map that was collided with, or null if no collision found. The boundary
+     * returned is shared, and must not be modified.
+     */
+    public Rectangle checkSelectedMapCollision(int x, int y, int width, int height) {
+        if(selectedMap == null || width <= 0 || height <= 0) {
             return null;
         }
 
         int mapGridSize = PacmanGame.GRID_SIZE;
-        int mapWidth = PacmanGame.HORIZONTAL_GRID_COUNT * mapGridSize;
-
-        int[] points = selectedMap.getPoints();
-        int y = 0;
-        int x = 0;
-        for(int i = 0; i < points.length; i++) {
-            if(points[i] == 0) {
-                // Test for a collision against these points.
-                Rectangle infringed = new Rectangle(x, y, mapGridSize, mapGridSize);
-                if (infringed.intersects(collisionBox)) {
+        int minX = Math.max(0, Math.floorDiv(x, mapGridSize));
+        int minY = Math.max(0, Math.floorDiv(y, mapGridSize));
+        int maxX = Math.min(PacmanGame.HORIZONTAL_GRID_COUNT - 1, Math.floorDiv(x + width - 1, mapGridSize));
+        int maxY = Math.min(PacmanGame.VERTICAL_GRID_COUNT - 1, Math.floorDiv(y + height - 1, mapGridSize));
+
+        for(int gridY = minY; gridY <= maxY; gridY++) {
+            for(int gridX = minX; gridX <= maxX; gridX++) {
+                Rectangle infringed = selectedMap.getWallBounds(gridX, gridY);
+                if(infringed != null) {
                     return infringed;
                 }
             }
-
-            x += mapGridSize;
-            if(x >= mapWidth) {
-                x = 0;
-                y += mapGridSize;
-            }
         }
 
         return null;
@@ -152,16 +283,27 @@ public class MapController extends Controller {
     }
 
     /**
-     * Returns the point pickups that the selected map has specified.
+     * Prepares a new pickup field for the selected map, containing the point and fruit pickups the map has specified
      *
-     * @return Returns the PointPickups
+     * @return Returns the pickup field, or null if no map is selected
      */
-    public ArrayList<Pickup> getPointPickups() {
+    public PickupField preparePickupField() {
         if(selectedMap == null) return null;
 
         return selectedMap.prepareMap(gameInstance);
     }
 
+    /**
+     * Returns the pickup field of the selected map
+     *
+     * @return Returns the pickup field, or null if no map is selected or the map has not been prepared
+     */
+    public PickupField getPickupField() {
+        if(selectedMap == null) return null;
+
+        return selectedMap.getPickupField();
+    }
+
     /**
      * Selects the map that has the ID specified
      *
@@ -169,13 +311,26 @@ public class MapController extends Controller {
      * @return The map found, if any. Null otherwise
      */
     public Map selectMap(int ID) {
+        MapSelectEvent event = new MapSelectEvent();
+        event.begin();
+
         Map m = loadMapWithID(ID);
         if(m == null) {
             System.err.println("Map with ID " + ID + " does not exist!");
-            return null;
+        } else {
+            selectedMap = m;
+            pathFinder = new PathFinder(gameInstance, m);
+            mapLayerInvalid = true;
+        }
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.mapId = ID;
+            event.mapName = m == null ? null : m.getName();
+            event.success = m != null;
+            event.commit();
         }
 
-        selectedMap = m;
         return m;
     }
 
@@ -213,4 +368,18 @@ public class MapController extends Controller {
     public Map getSelectedMap() {
         return selectedMap;
     }
+
+    /**
+     * Fetches the PathFinder used to calculate paths across the selected map
+     *
+     * @return The PathFinder for the selected map
+     * @throws InvalidPathFindingException Thrown if no map is currently selected
+     */
+    public PathFinder getPathFinder() throws InvalidPathFindingException {
+        if(pathFinder == null) {
+            throw new InvalidPathFindingException("Cannot provide PathFinder instance as no map is currently selected");
+        }
+
+        return pathFinder;
+    }
 }
@@ -1,8 +1,11 @@
 package controllers;
 
+import entity.Entity;
 import main.PacmanGame;
 
 import javax.imageio.ImageIO;
+import java.awt.geom.AffineTransform;
+import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -19,6 +22,28 @@ public class SpriteController extends Controller {
     private final int SPRITE_STARTING_Y = 0;
     protected BufferedImage spritesheet;
 
+    /**
+     * The positions of the sprites in the master spritesheet that we'll use to draw Pacman.
+     */
+    private final int[][] PACMAN_SPRITES = {{0,0}, {16,0}, {32,0}, {16,0}};
+
+    /**
+     * The width of each Pacman sprite
+     */
+    private final int PACMAN_SPRITE_WIDTH = 16;
+
+    /**
+     * The height of each Pacman sprite
+     */
+    private final int PACMAN_SPRITE_HEIGHT = 16;
+
+    /**
+     * The Pacman sprites, rotated to face each direction; indexed by the ordinal of the direction, and then
+     * the animation frame. Created once when the spritesheet is loaded.
+     *
+     * @see #getPacmanSprites()
+     */
+    protected BufferedImage[][] pacmanSprites;
 
     /**
      * The SpriteController constructor, attempts to load the spritesheet for use later.
@@ -34,6 +59,8 @@ public class SpriteController extends Controller {
             e.printStackTrace();
             System.exit(-1);
         }
+
+        this.pacmanSprites = createRotatedSprites(getSprites(PACMAN_SPRITES, PACMAN_SPRITE_WIDTH, PACMAN_SPRITE_HEIGHT));
     }
 
     /**
@@ -55,4 +82,43 @@ public class SpriteController extends Controller {
 
         return sprites;
     }
+
+    /**
+     * Creates a copy of each sprite provided, rotated to face every direction. Sprites are expected to be facing
+     * right, and are rotated about their centre.
+     *
+     * @param sprites The sprites to rotate
+     * @return The rotated sprites, indexed by the ordinal of the direction, and then the index of the sprite
+     */
+    protected BufferedImage[][] createRotatedSprites(BufferedImage[] sprites) {
+        Entity.DIRECTION[] directions = Entity.DIRECTION.values();
+        BufferedImage[][] rotated = new BufferedImage[directions.length][sprites.length];
+        for(Entity.DIRECTION direction : directions) {
+            double rotationDegrees = switch(direction) {
+                case UP -> -90;
+                case DOWN -> 90;
+                case LEFT -> 180;
+                default -> 0;
+            };
+
+            for(int i = 0; i < sprites.length; i++) {
+                BufferedImage sprite = sprites[i];
+                AffineTransform rot = AffineTransform.getRotateInstance(Math.toRadians(rotationDegrees), sprite.getWidth()/2.0, sprite.getHeight()/2.0);
+                AffineTransformOp transform = new AffineTransformOp(rot, AffineTransformOp.TYPE_BILINEAR);
+
+                rotated[direction.ordinal()][i] = transform.filter(sprite, null);
+            }
+        }
+
+        return rotated;
+    }
+
+    /**
+     * Fetch the Pacman sprites, pre-rotated to face each direction
+     *
+     * @return The sprites, indexed by the ordinal of the direction Pacman is facing, and then the animation frame
+     */
+    public BufferedImage[][] getPacmanSprites() {
+        return pacmanSprites;
+    }
 }
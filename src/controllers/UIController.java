@@ -1,6 +1,7 @@
 package controllers;
 
 import fragment.Fragment;
+import main.DirtyRegion;
 import main.PacmanGame;
 
 import java.awt.event.MouseEvent;
@@ -76,6 +77,17 @@ public class UIController extends Controller {
         }
     }
 
+    /**
+     * Adds the areas drawn in by every active {@code Fragment} to the region provided
+     *
+     * @param region The region to add to
+     */
+    public void addDirtyRegion(DirtyRegion region) {
+        for(Fragment f : fragments) {
+            f.addDirtyRegion(region);
+        }
+    }
+
     /**
      * Requests a redraw from all {@code Fragment} instances currently registered and active
      */
@@ -3,6 +3,9 @@ package effects;
 import controllers.EffectController;
 import interfaces.EffectFrame;
 import interfaces.EngineComponent;
+import interfaces.StoreElement;
+import main.CoreEngine;
+import main.DirtyRegion;
 import main.PacmanGame;
 
 import java.util.Arrays;
@@ -13,7 +16,7 @@ import java.util.LinkedList;
  *
  * @author Harry Felton - 18032692
  */
-public abstract class Effect implements EngineComponent {
+public abstract class Effect implements EngineComponent, StoreElement {
     /**
      * The current frame index to be displayed
      */
@@ -24,6 +27,12 @@ public abstract class Effect implements EngineComponent {
      */
     protected int endFrame;
 
+    /**
+     * The fraction of a frame carried over from the previous update; frames are defined against
+     * {@code CoreEngine.BASE_TICK_RATE}, so at other tick rates an update may not advance a whole frame.
+     */
+    protected double frameRemainder = 0;
+
     /**
      * The frames provided to this {@code Effect}. The frame at {@code frame} will be displayed
      */
@@ -50,17 +59,22 @@ public abstract class Effect implements EngineComponent {
     protected final EffectController fx;
 
     /**
-     * Instantiate the {@code Effect} with the position provided. The {@code SnakeGame} instance is retrieved via the
-     * static {@code SnakeGame.getGameInstance()}.
+     * The slot this effect is held in by the {@code EffectController}, or -1 if it isn't being shown
+     */
+    protected int storeIndex = -1;
+
+    /**
+     * Instantiate the {@code Effect} with the game instance and position provided.
      *
+     * @param game The game instance the effect belongs to
      * @param x The position of the effect on the X-axis
      * @param y The position of the effect on the Y-axis
      */
-    protected Effect(int x, int y) {
+    protected Effect(PacmanGame game, int x, int y) {
         this.x = x;
         this.y = y;
 
-        this.gameInstance = PacmanGame.getGameInstance();
+        this.gameInstance = game;
         this.fx = gameInstance.getEffectsController();
     }
 
@@ -78,14 +92,18 @@ public abstract class Effect implements EngineComponent {
     }
 
     /**
-     * Called on each update tick, advances the {@code Effect} to the next frame.
-     * If no frames left, the {@code Effect} is destroyed
+     * Called on each update tick, advances the {@code Effect} by the amount of frames that the time passed
+     * covers. If no frames left, the {@code Effect} is destroyed
      *
      * @param dt The time passed since the last update
      */
     @Override
     public void update(double dt) {
-        frame++;
+        double frames = (dt * CoreEngine.BASE_TICK_RATE) + frameRemainder;
+        int wholeFrames = (int) Math.floor(frames + 1e-9);
+        frameRemainder = frames - wholeFrames;
+
+        frame += wholeFrames;
         if(frame >= endFrame)
             destroyEffect();
     }
@@ -101,6 +119,14 @@ public abstract class Effect implements EngineComponent {
         if(frame < endFrame) frames.get(frame).drawFrame(gameInstance.getGameGraphics(), x, y);
     }
 
+    /**
+     * Adds the area this effect may be drawn in to the region provided. Called once before each frame is drawn, and
+     * once more after the effect is destroyed so that it's erased.
+     *
+     * @param region The region to add to
+     */
+    public abstract void addDirtyRegion(DirtyRegion region);
+
     /**
      * Destroy this effect by queueing it's removal via the {@code EffectController}
      *
@@ -109,4 +135,14 @@ public abstract class Effect implements EngineComponent {
     private void destroyEffect() {
         fx.destroyEffect(this);
     }
+
+    @Override
+    public int getStoreIndex() {
+        return storeIndex;
+    }
+
+    @Override
+    public void setStoreIndex(int index) {
+        this.storeIndex = index;
+    }
 }
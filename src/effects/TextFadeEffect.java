@@ -1,6 +1,8 @@
 package effects;
 
 import interfaces.EffectFrame;
+import main.DirtyRegion;
+import main.PacmanGame;
 import ui.Text;
 
 import java.awt.*;
@@ -29,6 +31,7 @@ public class TextFadeEffect extends Effect {
     /**
      * Instantiates the effect by providing the frames to the superclass.
      *
+     * @param game The game instance the effect belongs to
      * @param x The position of the effect on the X-axis
      * @param y The position of the effect on the Y-axis
      * @param text The text to be displayed during the effect
@@ -37,8 +40,8 @@ public class TextFadeEffect extends Effect {
      * @see #generateFrames(int)
      * @see #provideFrames(EffectFrame[])
      */
-    public TextFadeEffect(int x, int y, Text text, Color color, int riseAmount) {
-        super(x, y);
+    public TextFadeEffect(PacmanGame game, int x, int y, Text text, Color color, int riseAmount) {
+        super(game, x, y);
 
         this.color = color;
         this.text = text;
@@ -47,6 +50,19 @@ public class TextFadeEffect extends Effect {
         provideFrames(generateFrames(10));
     }
 
+    /**
+     * Adds the area the text may be drawn in throughout the effect. The text isn't measured, as font metrics are only
+     * available while drawing; no character is wider than the size of the font, or extends further than the size
+     * of the font above (or half of it below) the baseline.
+     *
+     * @param region The region to add to
+     */
+    @Override
+    public void addDirtyRegion(DirtyRegion region) {
+        int size = text.getSize();
+        region.add(x - 1, y - riseAmount - size - 1, (text.getText().length() * size) + 2, riseAmount + size + (size / 2) + 2);
+    }
+
     /**
      * Generates the frames for this effect, with each frame being slightly higher and more transparent than the last.
      * The frames will last for 'amount' of game ticks, and at the end should be completely transparent.
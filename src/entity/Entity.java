@@ -2,9 +2,14 @@ package entity;
 
 import interfaces.CollisionElement;
 import interfaces.EngineComponent;
+import interfaces.StoreElement;
+import main.CoreEngine;
+import main.DirtyRegion;
 import main.PacmanGame;
 
-public abstract class Entity implements EngineComponent, CollisionElement {
+import java.awt.*;
+
+public abstract class Entity implements EngineComponent, CollisionElement, StoreElement {
     /**
      * The PacmanGame instance this entity belongs to
      */
@@ -26,8 +31,20 @@ public abstract class Entity implements EngineComponent, CollisionElement {
         NONE // Starting
     }
 
+    /**
+     * The distance (in pixels) this entity moves each tick, when the game is running at {@code CoreEngine.BASE_TICK_RATE}
+     *
+     * @see #consumeMovement(double)
+     */
     protected int velocity = 2;
 
+    /**
+     * The fraction of a pixel of movement carried over from the previous tick
+     *
+     * @see #consumeMovement(double)
+     */
+    protected double movementRemainder = 0;
+
     /**
      * The current X position of this entity
      */
@@ -48,11 +65,36 @@ public abstract class Entity implements EngineComponent, CollisionElement {
      */
     protected int height;
 
+    /**
+     * The X position of this entity at the start of the current tick; used to interpolate the drawn position
+     */
+    protected int previousX;
+
+    /**
+     * The Y position of this entity at the start of the current tick; used to interpolate the drawn position
+     */
+    protected int previousY;
+
+    /**
+     * The slot this entity is held in by the {@code EntityController}, or -1 if it isn't registered
+     */
+    protected int storeIndex = -1;
+
+    /**
+     * The area this entity could have been drawn in during the last frame; anywhere between it's previous and
+     * current position at the time. Has a negative size until the entity is first drawn.
+     *
+     * @see #addDirtyRegion(DirtyRegion)
+     */
+    protected final Rectangle drawnBounds = new Rectangle(0, 0, -1, -1);
+
     public Entity(PacmanGame game, int x, int y, int width, int height) {
         this.gameInstance = game;
 
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
 
         this.width = width;
         this.height = height;
@@ -62,20 +104,106 @@ public abstract class Entity implements EngineComponent, CollisionElement {
         this(game, x, y, PacmanGame.GRID_SIZE, PacmanGame.GRID_SIZE);
     }
 
+    /**
+     * Calculates the whole amount of pixels this entity should move this tick, based on it's {@code velocity} and the
+     * amount of time that has passed. Any fraction of a pixel is carried over to the next tick, so that the entity
+     * moves at the same speed regardless of the tick rate.
+     *
+     * @param dt The amount of time (seconds) that has passed since the last tick
+     * @return The distance to move, in pixels
+     */
+    protected int consumeMovement(double dt) {
+        double distance = (velocity * dt * CoreEngine.BASE_TICK_RATE) + movementRemainder;
+
+        // A small tolerance prevents rounding errors from losing a pixel when the distance is whole
+        int wholeDistance = (int) Math.floor(distance + 1e-9);
+        movementRemainder = distance - wholeDistance;
+        return wholeDistance;
+    }
+
+    /**
+     * Stores the current position of this entity as it's previous position. Called at the start of each tick, and
+     * part way through a tick whenever the entity is placed rather than moved (e.g. teleported through a tunnel),
+     * so that it isn't drawn sliding between the two positions.
+     */
+    public void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    /**
+     * Adds the area this entity could have been drawn in during the last frame, and the area it could be drawn in
+     * during the next (anywhere between it's previous and current position), to the region provided. Called once
+     * before each frame is drawn.
+     *
+     * @param region The region to add to
+     */
+    public void addDirtyRegion(DirtyRegion region) {
+        region.add(drawnBounds);
+
+        // A pixel either side allows for rounding of the interpolated position
+        drawnBounds.setBounds(Math.min(previousX, x) - 1, Math.min(previousY, y) - 1,
+                Math.abs(x - previousX) + width + 2, Math.abs(y - previousY) + height + 2);
+        region.add(drawnBounds);
+    }
+
+    /**
+     * Returns the area this entity could have been drawn in during the last frame
+     *
+     * @return The area, which must not be modified; has a negative size if the entity hasn't been drawn
+     */
+    public Rectangle getDrawnBounds() {
+        return drawnBounds;
+    }
+
+    /**
+     * Returns the X position this entity should be drawn at, interpolated between it's position at the start of
+     * this tick and it's current position.
+     *
+     * @return The X position to draw at
+     */
+    protected int getRenderX() {
+        return (int) Math.round(previousX + ((x - previousX) * gameInstance.getInterpolationAlpha()));
+    }
+
+    /**
+     * Returns the Y position this entity should be drawn at, interpolated between it's position at the start of
+     * this tick and it's current position.
+     *
+     * @return The Y position to draw at
+     */
+    protected int getRenderY() {
+        return (int) Math.round(previousY + ((y - previousY) * gameInstance.getInterpolationAlpha()));
+    }
+
     public int getX() {
         return x;
     }
 
+    /**
+     * Places this entity at the X position provided; the entity is not interpolated from it's previous position
+     *
+     * @param x The X position
+     */
     public void setX(int x) {
         this.x = x;
+        this.previousX = x;
+        gameInstance.getEntityController().entityMoved(this);
     }
 
     public int getY() {
         return y;
     }
 
+    /**
+     * Places this entity at the Y position provided; the entity is not interpolated from it's previous position
+     *
+     * @param y The Y position
+     */
     public void setY(int y) {
         this.y = y;
+        this.previousY = y;
+        gameInstance.getEntityController().entityMoved(this);
     }
 
     public int getWidth() {
@@ -89,4 +217,14 @@ public abstract class Entity implements EngineComponent, CollisionElement {
     public DIRECTION getDirection() {
         return direction;
     }
+
+    @Override
+    public int getStoreIndex() {
+        return storeIndex;
+    }
+
+    @Override
+    public void setStoreIndex(int index) {
+        this.storeIndex = index;
+    }
 }
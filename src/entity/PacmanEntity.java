@@ -7,13 +7,12 @@ import controllers.SpriteController;
 import entity.ghost.GhostEntity;
 import interfaces.CollisionElement;
 import main.PacmanGame;
+import main.PickupField;
 import main.Player;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The PacmanEntity handles the drawing, animations, collisions, pickups, etc of the player/pacman.
@@ -29,28 +28,14 @@ public class PacmanEntity extends Entity implements CollisionElement {
      */
     protected final int maxFrames;
 
-    /**
-     * The positions of the sprites in the master spritesheet that we'll use to draw Pacman.
-     */
-    private final int[][]   PACMAN_SPRITES = {{0,0}, {16,0}, {32,0}, {16,0}};
-
     private final int       SPRITE_DELAY = 100;
     private long            SPRITE_TARGET_TIME = 0;
 
     /**
-     * The width of each PacmanSprite, and therefore, the entity itself.
-     */
-    private final int       PACMAN_SPRITE_WIDTH = 16;
-
-    /**
-     * The height of each PacmanSprite, and therefore, the entity itself.
+     * The sprites loaded during initialisation, used to draw the {@code PacmanEntity}; indexed by the ordinal
+     * of the direction Pacman is facing, and then the animation frame.
      */
-    private final int       PACMAN_SPRITE_HEIGHT = 16;
-
-    /**
-     * The sprites loaded during initialisation, used to draw the {@code PacmanEntity}
-     */
-    protected final BufferedImage[] sprites;
+    protected final BufferedImage[][] sprites;
 
     /**
      * The player that is controlling this pacman
@@ -81,8 +66,8 @@ public class PacmanEntity extends Entity implements CollisionElement {
         this.player = player;
 
         SpriteController s = game.getSpriteController();
-        this.sprites = s.getSprites(PACMAN_SPRITES, PACMAN_SPRITE_WIDTH, PACMAN_SPRITE_HEIGHT);
-        this.maxFrames = this.sprites.length;
+        this.sprites = s.getPacmanSprites();
+        this.maxFrames = this.sprites[DIRECTION.NONE.ordinal()].length;
     }
 
     /**
@@ -152,6 +137,9 @@ public class PacmanEntity extends Entity implements CollisionElement {
                     break;
                 default: break;
             }
+
+            // Pacman has been placed on the other side of the map, not moved across it
+            storePreviousPosition();
         }
 
         return false;
@@ -193,7 +181,7 @@ public class PacmanEntity extends Entity implements CollisionElement {
      * @param dt The amount of time that has passed since the last update tick
      */
     public void move(double dt) {
-        double apparentVelocity = velocity;
+        int apparentVelocity = consumeMovement(dt);
         switch(direction) {
             case UP:
                 apparentVelocity = apparentVelocity * -1;
@@ -224,8 +212,14 @@ public class PacmanEntity extends Entity implements CollisionElement {
         // Move the entity
         move(dt);
 
-        // Check for collisions at new location, and rectify them if any occur.
-        collisions.checkCollision(this, getBounds());
+        // Collect any pickups at the new location, then check for collisions and rectify them if any occur. Pickups
+        // are collected first, so that a fruit collected as Pacman meets a ghost protects Pacman from it.
+        Rectangle bounds = getBounds();
+        PickupField pickupField = mapController.getPickupField();
+        if(pickupField != null) {
+            pickupField.collect(this, bounds);
+        }
+        collisions.checkCollision(this, bounds);
 
         // If the entity wants to make a turn, check if it can right now.
         if( this.nextDirection != null ) {
@@ -236,8 +230,7 @@ public class PacmanEntity extends Entity implements CollisionElement {
             int y = nextDirection == DIRECTION.UP ? buffer * -1 : nextDirection == DIRECTION.DOWN ? buffer : 0;
 
             // Check if the area is clear
-            Rectangle newDirectionCheck = new Rectangle(this.x + x, this.y + y, this.width, this.height);
-            if (mapController.checkSelectedMapCollision(newDirectionCheck) == null) {
+            if (mapController.checkSelectedMapCollision(this.x + x, this.y + y, this.width, this.height) == null) {
                 this.direction = nextDirection;
                 nextDirection = null;
             }
@@ -245,12 +238,13 @@ public class PacmanEntity extends Entity implements CollisionElement {
 
         // Used to delay sprite animations, wait SPRITE_DELAY_TIME before
         // advancing to the next sprite.
-        if(System.currentTimeMillis() >= SPRITE_TARGET_TIME) {
+        long gameTime = gameInstance.getGameTime();
+        if(gameTime >= SPRITE_TARGET_TIME) {
             currentFrame = currentFrame == maxFrames-1 ? 0 : currentFrame+1;
-            SPRITE_TARGET_TIME = System.currentTimeMillis() + SPRITE_DELAY;
+            SPRITE_TARGET_TIME = gameTime + SPRITE_DELAY;
         }
 
-        if(!this.isVulnerable && System.currentTimeMillis() >= invulnerabilityTimeout) {
+        if(!this.isVulnerable && gameTime >= invulnerabilityTimeout) {
             // No longer invulnerable.
             setIsVulnerable(true);
         }
@@ -265,33 +259,14 @@ public class PacmanEntity extends Entity implements CollisionElement {
     @Override
     public void paintComponent() {
         Graphics2D g = gameInstance.getGameGraphics();
-        BufferedImage sprite = sprites[currentFrame];
-
-        double rotationDegrees = 0;
-        switch(direction) {
-            case UP:
-                rotationDegrees = -90;
-                break;
-            case DOWN:
-                rotationDegrees = 90;
-                break;
-            case LEFT:
-                rotationDegrees = 180;
-                break;
-            default: break;
-        }
-        double theta = Math.toRadians(rotationDegrees);
-        AffineTransform rot = AffineTransform.getRotateInstance(theta, PACMAN_SPRITE_WIDTH/2.0, PACMAN_SPRITE_HEIGHT/2.0);
-        AffineTransformOp transform = new AffineTransformOp(rot, AffineTransformOp.TYPE_BILINEAR);
-
-        g.drawImage(transform.filter(sprite, null), this.x, this.y, null);
+        g.drawImage(sprites[direction.ordinal()][currentFrame], getRenderX(), getRenderY(), null);
     }
 
     protected void setIsVulnerable(boolean isVulnerable) {
         this.isVulnerable = isVulnerable;
 
         // Notify ghosts
-        ArrayList<GhostEntity> ghosts = gameInstance.getEntityController().getGhosts();
+        List<GhostEntity> ghosts = gameInstance.getEntityController().getGhosts();
         for(GhostEntity ghost: ghosts) {
             ghost.pacmanStateChange(this);
         }
@@ -302,7 +277,7 @@ public class PacmanEntity extends Entity implements CollisionElement {
     }
 
     public void makeInvulnerable(long duration) {
-        this.invulnerabilityTimeout = System.currentTimeMillis() + duration;
+        this.invulnerabilityTimeout = gameInstance.getGameTime() + duration;
         setIsVulnerable(false);
     }
 
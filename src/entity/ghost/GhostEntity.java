@@ -19,7 +19,7 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * The abstract GhostEntity class is used to store the pathfinding logic used by
@@ -169,8 +169,8 @@ public abstract class GhostEntity extends Entity {
         int gridX = this.x / gridSize;
         int gridY = this.y / gridSize;
         try {
-            PathFinder pathFinder = new PathFinder(gameInstance, PATH_FINDING_MAX_DEPTH);
-            pathfindingRoute = pathFinder.calculatePath(gridX, gridY, targetPoint.x, targetPoint.y);
+            PathFinder pathFinder = gameInstance.getMapController().getPathFinder();
+            pathfindingRoute = pathFinder.calculatePath(gridX, gridY, targetPoint.x, targetPoint.y, PATH_FINDING_MAX_DEPTH);
         } catch (InvalidPathFindingException e) {
             System.err.println("Ghost#calculatePath - Failed to calculate path to target: " + e.getMessage());
             e.printStackTrace();
@@ -229,7 +229,7 @@ public abstract class GhostEntity extends Entity {
 
         if(choices.size() == 0) return;
 
-        Random r = gameInstance.generateRandom();
+        SplittableRandom r = gameInstance.generateRandom();
         calculatePath(choices.get(r.nextInt(choices.size())));
     }
 
@@ -278,8 +278,10 @@ public abstract class GhostEntity extends Entity {
      * This is achieved by setting the direction of the ghost to that of the nearest step. If
      * the ghost is in random mode, is out of range, or could not find a path, a random direction
      * will be queued instead.
+     *
+     * @param distance The distance (in pixels) the ghost may move this tick
      */
-    private void trackTarget() {
+    private void trackTarget(int distance) {
         Point gridBasedPoint = main.Map.getGridBasedPoint(this.x, this.y);
         int gridBasedX = gridBasedPoint.x;
         int gridBasedY = gridBasedPoint.y;
@@ -337,10 +339,10 @@ public abstract class GhostEntity extends Entity {
 
         if(targetPixelX != this.x && targetPixelY == this.y) {
             // We're heading towards this point/on the correct axis
-            moveTowardsStep(diffX);
+            moveTowardsStep(diffX, distance);
         } else if(targetPixelY != this.y && targetPixelX == this.x) {
             // We're heading towards this point
-            moveTowardsStep(diffY);
+            moveTowardsStep(diffY, distance);
         } else {
             System.err.println("Unknown state of movement detected. Direction: " + direction + ", current x/y: " + gridBasedX + " ("+this.x+"), " + gridBasedY + " ("+this.y+"), " + " - target x/y: " + nextTarget.x + "("+targetPixelX+"), " + nextTarget.y + "("+targetPixelY+")");
         }
@@ -348,23 +350,24 @@ public abstract class GhostEntity extends Entity {
 
     /**
      * This method will attempt to move the ghost towards a point. If the point is so close
-     * that one movement (by distance velocity) will move past it, this method will
+     * that one movement (by {@code distance}) will move past it, this method will
      * redirect that excess distance to the direction specified by the next path finding
      * step.
      *
      * @param diffDistance The amount of distance between current location and target location
+     * @param distance The distance (in pixels) the ghost may move this tick
      */
-    private void moveTowardsStep(int diffDistance) {
-        if(velocity <= diffDistance || !pathfindingRoute.hasNextStep()) {
+    private void moveTowardsStep(int diffDistance, int distance) {
+        if(distance <= diffDistance || !pathfindingRoute.hasNextStep()) {
             // We will land on or just before this point. Great!
-            moveGhost(direction, velocity);
+            moveGhost(direction, distance);
         } else {
             // We're going to overshoot the point...
             // Move ghost as much as possible; up to the end of this stage
             moveGhost(direction, diffDistance);
 
             // Calculate excess distance and redirect to new direction
-            int excess = velocity - diffDistance;
+            int excess = distance - diffDistance;
             Point nextStep = pathfindingRoute.getNextStep();
             DIRECTION newDirection = findDirectionOfTarget(nextStep);
 
@@ -399,16 +402,17 @@ public abstract class GhostEntity extends Entity {
             default -> this.sprites;
         };
 
-        trackTarget();
+        trackTarget(consumeMovement(dt));
         // Used to delay sprite animations, wait SPRITE_DELAY_TIME before
         // advancing to the next sprite.
-        if(System.currentTimeMillis() >= GHOST_SPRITE_TARGET_TIME) {
+        long gameTime = gameInstance.getGameTime();
+        if(gameTime >= GHOST_SPRITE_TARGET_TIME) {
             currentFrame++;
             if(currentFrame >= activeSprites.get(direction).length) {
                 currentFrame = 0;
             }
 
-            GHOST_SPRITE_TARGET_TIME = System.currentTimeMillis() + GHOST_SPRITE_DELAY;
+            GHOST_SPRITE_TARGET_TIME = gameTime + GHOST_SPRITE_DELAY;
         }
     }
 
@@ -417,7 +421,7 @@ public abstract class GhostEntity extends Entity {
         Graphics2D graphics = gameInstance.getGameGraphics();
 
         BufferedImage[] subSprites = activeSprites.get(direction == DIRECTION.NONE ? DIRECTION.RIGHT : direction);
-        graphics.drawImage(subSprites[Math.min(subSprites.length - 1, currentFrame)], this.x, this.y, null);
+        graphics.drawImage(subSprites[Math.min(subSprites.length - 1, currentFrame)], getRenderX(), getRenderY(), null);
     }
 
     @Override
@@ -463,7 +467,7 @@ public abstract class GhostEntity extends Entity {
                 player.increaseScore(5000);
 
                 EffectController fx = gameInstance.getEffectsController();
-                fx.spawnEffect(new TextFadeEffect(this.x, this.y, new Text("+5000").setSize(10), Color.BLUE, 15));
+                fx.spawnEffect(new TextFadeEffect(gameInstance, this.x, this.y, new Text("+5000").setSize(10), Color.BLUE, 15));
 
                 gameInstance.ghostDeathSoundEffect.playOnce(gameInstance.SOUND_EFFECT_VOLUME);
             }
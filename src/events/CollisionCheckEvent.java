@@ -0,0 +1,32 @@
+package events;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded for every call to {@code CollisionController.checkCollision}; the duration of the event is the time taken
+ * to test for collisions. This event is recorded very often, so no stack trace is kept.
+ *
+ * Disabled by default; enable it in the JFR settings used for the recording (e.g. {@code pacman.CollisionCheck#enabled=true}).
+ *
+ * @author Harry Felton - 18032692
+ * @see controllers.CollisionController#checkCollision(interfaces.CollisionElement, java.awt.Rectangle)
+ */
+@Name("pacman.CollisionCheck")
+@Label("Collision Check")
+@Description("A collision box tested against the game boundary, walls and nearby entities")
+@Category({"Pacman", "Collisions"})
+@StackTrace(false)
+@Enabled(false)
+public class CollisionCheckEvent extends Event {
+    @Label("Source")
+    @Description("The class of the element the collision box belongs to")
+    public String source;
+
+    @Label("Candidates Tested")
+    @Description("The amount of nearby entities tested against the collision box")
+    public int candidatesTested;
+
+    @Label("Collided")
+    @Description("True if the collision was consumed")
+    public boolean collided;
+}
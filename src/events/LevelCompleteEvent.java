@@ -0,0 +1,32 @@
+package events;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded when the player collects every point in a level; the duration of the event is the time taken to move to
+ * the next level, and re-initialise the entities.
+ *
+ * Disabled by default; enable it in the JFR settings used for the recording (e.g. {@code pacman.LevelComplete#enabled=true}).
+ *
+ * @author Harry Felton - 18032692
+ * @see main.PacmanGame#levelComplete()
+ */
+@Name("pacman.LevelComplete")
+@Label("Level Complete")
+@Description("The player completed a level")
+@Category({"Pacman", "Levels"})
+@Enabled(false)
+public class LevelCompleteEvent extends Event {
+    @Label("Completed Map ID")
+    public int completedMapId;
+
+    @Label("Next Map ID")
+    public int nextMapId;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Game Tick")
+    @Description("The amount of ticks since the game started")
+    public int gameTick;
+}
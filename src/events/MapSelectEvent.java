@@ -0,0 +1,29 @@
+package events;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded when a map is selected; the duration of the event is the time taken to select the map and create it's
+ * {@code PathFinder}.
+ *
+ * Disabled by default; enable it in the JFR settings used for the recording (e.g. {@code pacman.MapSelect#enabled=true}).
+ *
+ * @author Harry Felton - 18032692
+ * @see controllers.MapController#selectMap(int)
+ */
+@Name("pacman.MapSelect")
+@Label("Map Select")
+@Description("A map was selected")
+@Category({"Pacman", "Levels"})
+@Enabled(false)
+public class MapSelectEvent extends Event {
+    @Label("Map ID")
+    public int mapId;
+
+    @Label("Map Name")
+    public String mapName;
+
+    @Label("Success")
+    @Description("False if no map with the ID exists")
+    public boolean success;
+}
@@ -0,0 +1,49 @@
+package events;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded for every call to {@code PathFinder.calculatePath}; the duration of the event is the time taken to
+ * calculate the path. The stack trace of the event shows which ghost requested the path.
+ *
+ * Disabled by default; enable it in the JFR settings used for the recording (e.g. {@code pacman.PathFinding#enabled=true}).
+ *
+ * @author Harry Felton - 18032692
+ * @see main.PathFinder#calculatePath(int, int, int, int, int)
+ */
+@Name("pacman.PathFinding")
+@Label("Path Finding")
+@Description("A path calculated by the PathFinder")
+@Category({"Pacman", "Ghost AI"})
+@Enabled(false)
+public class PathFindingEvent extends Event {
+    @Label("Start X")
+    public int startX;
+
+    @Label("Start Y")
+    public int startY;
+
+    @Label("Target X")
+    public int targetX;
+
+    @Label("Target Y")
+    public int targetY;
+
+    @Label("Maximum Depth")
+    public int maxDepth;
+
+    @Label("Nodes Expanded")
+    @Description("The amount of nodes expanded by the search; zero if a precomputed route was used")
+    public int nodesExpanded;
+
+    @Label("Depth")
+    @Description("The amount of steps in the path found, or zero if no path was found")
+    public int depth;
+
+    @Label("Precomputed Route")
+    @Description("True if the shortest route provided by the map was used in place of a search")
+    public boolean precomputedRoute;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,25 @@
+package events;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded when the scoreboard is saved to file; the duration of the event is the time taken to write the file.
+ *
+ * Disabled by default; enable it in the JFR settings used for the recording (e.g. {@code pacman.ScoreboardSave#enabled=true}).
+ *
+ * @author Harry Felton - 18032692
+ * @see main.Scoreboard#saveScoreboard(main.Scoreboard)
+ */
+@Name("pacman.ScoreboardSave")
+@Label("Scoreboard Save")
+@Description("The scoreboard was saved to file")
+@Category({"Pacman", "Scoreboard"})
+@Enabled(false)
+public class ScoreboardSaveEvent extends Event {
+    @Label("Scores")
+    @Description("The amount of scores saved")
+    public int scoreCount;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -1,6 +1,7 @@
 package fragment;
 
 import interfaces.UIMouseReactive;
+import main.DirtyRegion;
 import main.PacmanGame;
 import ui.Component;
 
@@ -86,6 +87,18 @@ public abstract class Fragment {
         }
     }
 
+    /**
+     * Adds the area this fragment may draw in to the region provided, if it's active. Called once before each frame
+     * is drawn, when only the changed areas of the game are being drawn. Unless overridden, the entire game is added.
+     *
+     * @param region The region to add to
+     */
+    public void addDirtyRegion(DirtyRegion region) {
+        if(active) {
+            region.add(0, 0, PacmanGame.WIDTH, PacmanGame.HEIGHT);
+        }
+    }
+
     /**
      * Checks if the mouse event provided has landed within the component provided
      *
@@ -1,9 +1,10 @@
 package fragment;
 
 import entity.PacmanEntity;
-import entity.pickup.FruitPointPickup;
+import main.DirtyRegion;
 import main.Player;
 import main.PacmanGame;
+import main.PickupField;
 import org.w3c.dom.css.RGBColor;
 import ui.Component;
 import ui.Label;
@@ -29,6 +30,23 @@ public class GameFragment extends Fragment {
      */
     protected Label levelNameLabel;
 
+    /**
+     * The label used to display the amount of dots (point pickups) remaining in the level
+     */
+    protected Label dotsRemainingLabel;
+
+    /**
+     * The amount of dots displayed by the {@code dotsRemainingLabel}
+     */
+    protected int lastDotsRemaining = -1;
+
+    /**
+     * The height of the strips along the top (score, level name and lives) and bottom (dots remaining and
+     * invulnerability bar) of the game that this fragment draws in
+     */
+    protected final int TOP_STRIP_HEIGHT = 20;
+    protected final int BOTTOM_STRIP_HEIGHT = 16;
+
     /**
      * The amount of time that must pass before the score effect resets
      */
@@ -93,7 +111,8 @@ public class GameFragment extends Fragment {
 
         playerOneScoreLabel = new Label(gameInstance, new Text("").setSize(14));
         levelNameLabel = new Label(gameInstance, new Text("").setSize(14));
-        components = new Component[] { playerOneScoreLabel, levelNameLabel };
+        dotsRemainingLabel = new Label(gameInstance, new Text("").setSize(10));
+        components = new Component[] { playerOneScoreLabel, levelNameLabel, dotsRemainingLabel };
     }
 
     /**
@@ -128,12 +147,21 @@ public class GameFragment extends Fragment {
         Text playerOneText = playerOneScoreLabel.getText();
         playerOneText.setText(String.format("%04d", player.getScore()));
 
-        playerOneScoreLabel.setX(0).setY(playerOneText.getRenderedHeight() * .8);
+        playerOneScoreLabel.setX(0).setY(playerOneText.getRenderedHeight(gameInstance) * .8);
         playerOneScoreLabel.setColor(getScoreColour(player.getScoreTime()));
 
         Text levelNameText = levelNameLabel.getText();
         levelNameText.setText(gameInstance.getMapController().getSelectedMap().getName());
-        levelNameLabel.center(true, false, 0, (int)(levelNameText.getRenderedHeight() * 0.8));
+        levelNameLabel.center(true, false, 0, (int)(levelNameText.getRenderedHeight(gameInstance) * 0.8));
+
+        // Only re-format the readout when a dot has been collected, rather than every tick
+        int dotsRemaining = gameInstance.getEntityController().getRemainingPointPickups();
+        if(dotsRemaining != lastDotsRemaining) {
+            lastDotsRemaining = dotsRemaining;
+            dotsRemainingLabel.getText().setText(String.format("%d dots remaining", dotsRemaining));
+            dotsRemainingLabel.center(true, false, 0, PacmanGame.HEIGHT - 4);
+        }
+        dotsRemainingLabel.setColor(scoreBaseColour);
     }
 
     /**
@@ -154,8 +182,8 @@ public class GameFragment extends Fragment {
 
             PacmanEntity pacman = gameInstance.getEntityController().getPlayer();
             if(!pacman.getIsVulnerable()) {
-                int fullDuration = FruitPointPickup.INVULNERABILITY_DURATION;
-                long timeRemaining = pacman.getInvulnerabilityTimeout() - System.currentTimeMillis();
+                int fullDuration = PickupField.INVULNERABILITY_DURATION;
+                long timeRemaining = pacman.getInvulnerabilityTimeout() - gameInstance.getGameTime();
                 double ratio = (timeRemaining * 1.0/fullDuration);
 
 
@@ -166,6 +194,19 @@ public class GameFragment extends Fragment {
         }
     }
 
+    /**
+     * Adds the strips along the top and bottom of the game that this fragment draws in to the region provided
+     *
+     * @param region The region to add to
+     */
+    @Override
+    public void addDirtyRegion(DirtyRegion region) {
+        if(!active) return;
+
+        region.add(0, 0, PacmanGame.WIDTH, TOP_STRIP_HEIGHT);
+        region.add(0, PacmanGame.HEIGHT - BOTTOM_STRIP_HEIGHT, PacmanGame.WIDTH, BOTTOM_STRIP_HEIGHT);
+    }
+
     /**
      * Given two colour components, {@code comp1} and {@code comp2}, find a mix between the two based on the
      * {@code ratio}. If {@code ratio} is 0, then the color returned will be all {@code comp1}. If {@code ratio} is 1,
@@ -21,7 +21,8 @@ public class MenuFragment extends Fragment {
     private final int       POINT_COUNT = 5;
 
     private final BufferedImage[]   pacmanSprites;
-    private long                    spriteTargetTime = 0;
+    private double                  spriteTime = 0;
+    private double                  spriteTargetTime = 0;
     private int                     pacmanSpriteCurrentFrame = 0;
     private final int               pacmanSpriteMaxFrame;
 
@@ -67,9 +68,11 @@ public class MenuFragment extends Fragment {
         super.update(dt);
 
         if(active) {
-            if (System.currentTimeMillis() >= spriteTargetTime) {
+            // The menu is shown between games, so it keeps it's own time rather than using the game time
+            spriteTime += dt * 1000;
+            if (spriteTime >= spriteTargetTime) {
                 pacmanSpriteCurrentFrame = pacmanSpriteCurrentFrame == pacmanSpriteMaxFrame - 1 ? 0 : pacmanSpriteCurrentFrame + 1;
-                spriteTargetTime = System.currentTimeMillis() + SPRITE_DELAY;
+                spriteTargetTime = spriteTime + SPRITE_DELAY;
             }
 
             pointPosition--;
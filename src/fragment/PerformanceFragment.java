@@ -0,0 +1,264 @@
+package fragment;
+
+import exception.InvalidPathFindingException;
+import main.DirtyRegion;
+import main.LatencyHistogram;
+import main.PacmanGame;
+import main.PathFinder;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This fragment is used to display a debug overlay showing how the game is performing; the frames drawn and ticks
+ * simulated per second, the 99th percentile frame time, the amount of entities, the path searches per second and
+ * the rate memory is being allocated by the simulation and render threads.
+ *
+ * The overlay is drawn in to a cached image that is only refreshed every {@code REFRESH_INTERVAL}, so drawing the
+ * overlay costs no more than drawing a sprite.
+ *
+ * @author Harry Felton - 18032692
+ * @see PacmanGame#togglePerformanceOverlay()
+ */
+public class PerformanceFragment extends Fragment {
+    /**
+     * The amount of time (in nanoseconds) between each refresh of the overlay
+     */
+    protected static final long REFRESH_INTERVAL = 250_000_000L;
+
+    private final int OVERLAY_WIDTH = 124;
+    private final int OVERLAY_X = 2;
+    private final int LINE_HEIGHT = 10;
+    private final int LINE_COUNT = 6;
+    private final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 9);
+    private final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
+
+    /**
+     * Used to measure the memory allocated by the simulation and render threads; null if the JVM doesn't
+     * support measuring thread allocations.
+     */
+    protected final com.sun.management.ThreadMXBean threadBean;
+
+    /**
+     * The overlay, as drawn during the last refresh
+     */
+    protected final BufferedImage overlay;
+
+    /**
+     * The time between frames drawn since the last refresh
+     */
+    protected final LatencyHistogram frameTimes = new LatencyHistogram("PerformanceFragment.frameTime");
+
+    protected long lastRefreshTime = 0;
+    protected long lastFrameTime = 0;
+
+    /**
+     * The frame being drawn when the overlay was last drawn; a frame may be drawn in several areas, each of which
+     * redraws the overlay, but must only be measured once.
+     */
+    protected long lastFrameCount = -1;
+    protected int framesSinceRefresh = 0;
+    protected int ticksSinceRefresh = 0;
+
+    /**
+     * The memory allocated by the simulation thread, as measured during the last update tick
+     */
+    protected long simulationAllocatedBytes = -1;
+    protected long lastSimulationAllocatedBytes = -1;
+    protected long lastRenderAllocatedBytes = -1;
+
+    /**
+     * The PathFinder in use during the last refresh, and the amount of paths it had calculated
+     */
+    protected PathFinder lastPathFinder;
+    protected long lastPathCalculations = 0;
+
+    /**
+     * Constructs the PerformanceFragment
+     *
+     * @param game The {@code PacmanGame} the fragment is attached to
+     */
+    public PerformanceFragment(PacmanGame game) {
+        super(game);
+
+        this.overlay = new BufferedImage(OVERLAY_WIDTH, (LINE_HEIGHT * LINE_COUNT) + 4, BufferedImage.TYPE_INT_ARGB);
+
+        com.sun.management.ThreadMXBean bean = null;
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean b && b.isThreadAllocatedMemorySupported()) {
+            b.setThreadAllocatedMemoryEnabled(true);
+            bean = b;
+        }
+        this.threadBean = bean;
+    }
+
+    /**
+     * Restarts the measurements when the overlay is shown, so that time spent hidden isn't included
+     *
+     * @return Returns the same fragment to enable chaining
+     */
+    @Override
+    public Fragment activate() {
+        if(!active) {
+            lastRefreshTime = 0;
+            lastFrameTime = 0;
+        }
+
+        return super.activate();
+    }
+
+    /**
+     * Counts the tick, and measures the memory allocated by the simulation thread so far
+     *
+     * @param dt Time passed since last update
+     */
+    @Override
+    public void update(double dt) {
+        super.update(dt);
+        if(!active) return;
+
+        ticksSinceRefresh++;
+        if(threadBean != null) {
+            simulationAllocatedBytes = threadBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Measures the frame being drawn (once per frame), and draws the overlay
+     */
+    @Override
+    public void redraw() {
+        super.redraw();
+        if(!active) return;
+
+        long frameCount = gameInstance.getFrameCount();
+        if(frameCount != lastFrameCount) {
+            lastFrameCount = frameCount;
+            measureFrame();
+        }
+
+        Graphics2D graphics = gameInstance.getGameGraphics();
+        graphics.drawImage(overlay, OVERLAY_X, getOverlayY(), null);
+    }
+
+    /**
+     * Adds the area the overlay is drawn in to the region provided
+     *
+     * @param region The region to add to
+     */
+    @Override
+    public void addDirtyRegion(DirtyRegion region) {
+        if(active) {
+            region.add(OVERLAY_X, getOverlayY(), overlay.getWidth(), overlay.getHeight());
+        }
+    }
+
+    /**
+     * Returns the Y position the overlay is drawn at; the overlay sits in the bottom left of the game
+     *
+     * @return The Y position
+     */
+    private int getOverlayY() {
+        return PacmanGame.HEIGHT - overlay.getHeight() - 8;
+    }
+
+    /**
+     * Measures the time since the last frame, and refreshes the overlay if {@code REFRESH_INTERVAL} has passed since
+     * the last refresh
+     */
+    protected void measureFrame() {
+        long now = System.nanoTime();
+        if(lastFrameTime != 0) {
+            frameTimes.record(now - lastFrameTime);
+        }
+        lastFrameTime = now;
+        framesSinceRefresh++;
+
+        if(lastRefreshTime == 0) {
+            resetMeasurements(now);
+        } else if(now - lastRefreshTime >= REFRESH_INTERVAL) {
+            refreshOverlay(now);
+            resetMeasurements(now);
+        }
+    }
+
+    /**
+     * Discards the measurements taken since the last refresh, and takes new baseline measurements
+     *
+     * @param now The current time, in nanoseconds
+     */
+    protected void resetMeasurements(long now) {
+        lastRefreshTime = now;
+        framesSinceRefresh = 0;
+        ticksSinceRefresh = 0;
+        frameTimes.reset();
+
+        lastSimulationAllocatedBytes = simulationAllocatedBytes;
+        lastRenderAllocatedBytes = threadBean == null ? -1 : threadBean.getCurrentThreadAllocatedBytes();
+
+        lastPathFinder = getPathFinder();
+        lastPathCalculations = lastPathFinder == null ? 0 : lastPathFinder.getCalculationCount();
+    }
+
+    /**
+     * Draws the measurements taken since the last refresh in to the {@code overlay}
+     *
+     * @param now The current time, in nanoseconds
+     */
+    protected void refreshOverlay(long now) {
+        double seconds = (now - lastRefreshTime) / 1_000_000_000.;
+
+        // If the map has changed, so has the PathFinder; it's count started from zero
+        PathFinder pathFinder = getPathFinder();
+        long pathCalculations = pathFinder == null ? 0 : pathFinder.getCalculationCount();
+        if(pathFinder == lastPathFinder) {
+            pathCalculations -= lastPathCalculations;
+        }
+
+        String allocationRate = "n/a";
+        if(threadBean != null && lastSimulationAllocatedBytes >= 0) {
+            long allocated = (simulationAllocatedBytes - lastSimulationAllocatedBytes)
+                    + (threadBean.getCurrentThreadAllocatedBytes() - lastRenderAllocatedBytes);
+            allocationRate = String.format("%.2f MB/s", allocated / seconds / (1024 * 1024));
+        }
+
+        String[] lines = {
+                String.format("FPS:        %.0f", framesSinceRefresh / seconds),
+                String.format("Ticks/s:    %.0f", ticksSinceRefresh / seconds),
+                String.format("Frame p99:  %.2f ms", frameTimes.getPercentile(99) / 1_000_000.),
+                String.format("Entities:   %d", gameInstance.getEntityController().getEntityCount()),
+                String.format("Paths/s:    %.0f", pathCalculations / seconds),
+                String.format("Alloc:      %s", allocationRate)
+        };
+
+        Graphics2D g = overlay.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setColor(OVERLAY_BACKGROUND);
+            g.fillRect(0, 0, overlay.getWidth(), overlay.getHeight());
+
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(OVERLAY_FONT);
+            g.setColor(Color.GREEN);
+            for(int i = 0; i < lines.length; i++) {
+                g.drawString(lines[i], 3, (i + 1) * LINE_HEIGHT);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Returns the PathFinder for the selected map
+     *
+     * @return The PathFinder, or null if no map is selected
+     */
+    private PathFinder getPathFinder() {
+        try {
+            return gameInstance.getMapController().getPathFinder();
+        } catch (InvalidPathFindingException e) {
+            return null;
+        }
+    }
+}
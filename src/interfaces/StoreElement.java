@@ -0,0 +1,24 @@
+package interfaces;
+
+/**
+ * Implemented by elements that can be held in a {@code CompactingStore}; the store records the slot each element is
+ * held in on the element itself, so that it can be removed without searching for it.
+ *
+ * @author Harry Felton - 18032692
+ * @see main.CompactingStore
+ */
+public interface StoreElement {
+    /**
+     * Returns the slot this element is held in
+     *
+     * @return The slot index, or -1 if the element isn't held in a store
+     */
+    int getStoreIndex();
+
+    /**
+     * Records the slot this element is held in. Only to be called by the {@code CompactingStore} holding it.
+     *
+     * @param index The slot index, or -1 if the element has been removed from the store
+     */
+    void setStoreIndex(int index);
+}
@@ -0,0 +1,78 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many headless games of Pacman at once, using a pool of threads. Each thread simulates it's share of the
+ * games using it's own, independent, headless game; once every game has completed, a combined summary is printed.
+ *
+ * Usage: {@code java main.BatchSimulation [games] [threads] [maxTicksPerGame]}
+ *
+ * @author Harry Felton - 18032692
+ * @see HeadlessSimulation
+ */
+public class BatchSimulation {
+    /**
+     * The amount of games simulated when none is specified
+     */
+    private static final int DEFAULT_GAMES = 1000;
+
+    /**
+     * The maximum amount of ticks a single game may last when none is specified; five minutes of game time
+     */
+    private static final int DEFAULT_MAX_TICKS = CoreEngine.BASE_TICK_RATE * 60 * 5;
+
+    /**
+     * Entry point of the batch simulation
+     *
+     * @param args The amount of games to simulate, the amount of threads to use, and the maximum amount of
+     *             ticks per game (all optional). Defaults to one thread per available processor.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxTicks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_TICKS;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayList<Future<HeadlessSimulation>> results = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for(int i = 0; i < threads; i++) {
+            // Share the games out as evenly as possible between the threads
+            int share = (games / threads) + (i < games % threads ? 1 : 0);
+            results.add(pool.submit(() -> {
+                HeadlessSimulation simulation = new HeadlessSimulation(PacmanGame.createHeadlessGame(), maxTicks);
+                for(int j = 0; j < share; j++) {
+                    simulation.playGame();
+                }
+
+                return simulation;
+            }));
+        }
+
+        int gamesPlayed = 0;
+        long totalTicks = 0;
+        long totalScore = 0;
+        try {
+            for(Future<HeadlessSimulation> result : results) {
+                HeadlessSimulation simulation = result.get();
+                gamesPlayed += simulation.getGamesPlayed();
+                totalTicks += simulation.getTotalTicks();
+                totalScore += simulation.getTotalScore();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Batch simulation failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(-1);
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.println("Threads: " + threads);
+        HeadlessSimulation.printSummary(gamesPlayed, totalTicks, totalScore, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,162 @@
+package main;
+
+import interfaces.StoreElement;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A CompactingStore holds elements in insertion order in a plain array, and is used in place of a list for the
+ * entities and effects that are added and removed as the game runs.
+ *
+ * Removing an element is O(1); as each element knows the slot it's held in, the slot is simply cleared, leaving a
+ * tombstone behind. Tombstones are skipped when iterating, and are removed all at once by {@link #compact()}, which
+ * the owner calls once per tick. Compacting preserves the order of the remaining elements, so they're always
+ * updated and drawn in the order they were added.
+ *
+ * Elements may be removed (but not added) while iterating.
+ *
+ * @param <E> The type of element held
+ * @author Harry Felton - 18032692
+ * @see StoreElement
+ */
+public class CompactingStore<E extends StoreElement> implements Iterable<E> {
+    /**
+     * The slots holding the elements, in the order they were added. Removed elements leave a null tombstone.
+     */
+    protected StoreElement[] elements = new StoreElement[64];
+
+    /**
+     * The amount of slots used, including tombstones
+     */
+    protected int slotCount = 0;
+
+    /**
+     * The amount of tombstones amongst the used slots
+     */
+    protected int tombstoneCount = 0;
+
+    /**
+     * Adds the element provided to the end of the store. An element may only be held by one store at a time.
+     *
+     * @param element The element to add
+     */
+    public void add(E element) {
+        if(slotCount == elements.length) {
+            elements = Arrays.copyOf(elements, slotCount * 2);
+        }
+
+        element.setStoreIndex(slotCount);
+        elements[slotCount++] = element;
+    }
+
+    /**
+     * Removes the element provided by leaving a tombstone in it's slot. The slot is reclaimed by the next
+     * {@link #compact()}.
+     *
+     * @param element The element to remove
+     * @return True if the element was removed, false if it isn't held in this store
+     */
+    public boolean remove(E element) {
+        int index = element.getStoreIndex();
+        if(index < 0 || index >= slotCount || elements[index] != element) return false;
+
+        elements[index] = null;
+        element.setStoreIndex(-1);
+        tombstoneCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes every element matching the predicate provided, and then compacts the store
+     *
+     * @param filter Returns true for the elements to be removed
+     */
+    @SuppressWarnings("unchecked")
+    public void removeIf(Predicate<? super E> filter) {
+        for(int i = 0; i < slotCount; i++) {
+            E element = (E) elements[i];
+            if(element != null && filter.test(element)) {
+                remove(element);
+            }
+        }
+
+        compact();
+    }
+
+    /**
+     * Removes the tombstones left by removed elements, sliding the remaining elements down to fill the gaps without
+     * changing their order. Does nothing if no element has been removed since the last compaction.
+     */
+    public void compact() {
+        if(tombstoneCount == 0) return;
+
+        int kept = 0;
+        for(int i = 0; i < slotCount; i++) {
+            StoreElement element = elements[i];
+            if(element == null) continue;
+
+            element.setStoreIndex(kept);
+            elements[kept++] = element;
+        }
+
+        Arrays.fill(elements, kept, slotCount, null);
+        slotCount = kept;
+        tombstoneCount = 0;
+    }
+
+    /**
+     * Removes every element
+     */
+    public void clear() {
+        for(int i = 0; i < slotCount; i++) {
+            if(elements[i] != null) elements[i].setStoreIndex(-1);
+        }
+
+        Arrays.fill(elements, 0, slotCount, null);
+        slotCount = 0;
+        tombstoneCount = 0;
+    }
+
+    /**
+     * Returns the amount of elements held, not including those removed
+     *
+     * @return The amount of elements
+     */
+    public int size() {
+        return slotCount - tombstoneCount;
+    }
+
+    /**
+     * Returns an iterator over the elements held, in the order they were added, skipping any that have been removed
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            /**
+             * Skips any tombstones ahead of the next slot; done lazily, so that an element removed while iterating
+             * is never returned.
+             */
+            @Override
+            public boolean hasNext() {
+                while(next < slotCount && elements[next] == null) next++;
+                return next < slotCount;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if(!hasNext()) throw new NoSuchElementException();
+
+                return (E) elements[next++];
+            }
+        };
+    }
+}
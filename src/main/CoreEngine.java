@@ -5,6 +5,11 @@ import interfaces.EngineComponent;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.Area;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * This class is the underlying engine that drives the game; it is used to draw information
@@ -19,18 +24,187 @@ import java.awt.event.*;
  */
 
 public abstract class CoreEngine implements EngineComponent, MouseMotionListener, MouseListener, KeyListener {
+    /**
+     * The tick rate that per-tick quantities (such as entity velocities and effect frames) are defined against. At
+     * any other tick rate, these quantities are scaled using the time passed to {@code update}.
+     */
+    public static final int BASE_TICK_RATE = 30;
+
+    /**
+     * The longest amount of time (in nanoseconds) the simulation will try to catch up on at once; prevents the
+     * simulation from spiralling if the machine cannot keep up.
+     */
+    protected static final long MAX_CATCH_UP_TIME = 250_000_000L;
+
     protected final int WINDOW_WIDTH;
     protected final int WINDOW_HEIGHT;
     protected final String WINDOW_TITLE;
 
+    /**
+     * If true, the engine runs without a window; nothing is drawn, and the game must be updated by the caller
+     *
+     * @see HeadlessSimulation
+     */
+    protected final boolean HEADLESS;
+
+    /**
+     * The available render backends
+     */
+    public enum RENDERER {
+        /**
+         * Frames are drawn by Swing when the {@code DrawPanel} is repainted
+         */
+        PANEL,
+
+        /**
+         * Frames are drawn by the {@code RenderLoop} directly to a {@code Canvas} using a {@code BufferStrategy}
+         */
+        CANVAS
+    }
+
     protected JFrame mainFrame;
     protected DrawPanel mainPanel;
+
+    /**
+     * The canvas drawn to when using the {@code CANVAS} renderer
+     */
+    protected Canvas mainCanvas;
+
+    /**
+     * The buffer strategy of the {@code mainCanvas}, created once the canvas is displayed
+     */
+    protected volatile BufferStrategy bufferStrategy;
     protected Graphics2D engineGraphics;
     protected GameTimer gameLoop;
 
+    /**
+     * The amount of simulation ticks per second (at least one); configurable via the {@code pacman.tickRate} system
+     * property
+     */
+    protected final int TICK_RATE = Math.max(1, Integer.getInteger("pacman.tickRate", BASE_TICK_RATE));
+
+    /**
+     * The amount of frames drawn per second (at least one); configurable via the {@code pacman.frameRate} system
+     * property
+     */
+    protected final int FRAME_RATE = Math.max(1, Integer.getInteger("pacman.frameRate", 60));
+
+    /**
+     * The render backend used to draw frames; configurable via the {@code pacman.renderer} system property
+     * ({@code panel} or {@code canvas})
+     */
+    protected final RENDERER RENDER_BACKEND = RENDERER.valueOf(System.getProperty("pacman.renderer", "panel").toUpperCase());
+
+    /**
+     * The amount of buffers used by the {@code CANVAS} renderer; configurable via the {@code pacman.bufferPages}
+     * system property, and limited to 2 or 3.
+     */
+    protected final int BUFFER_PAGES = Math.max(2, Math.min(3, Integer.getInteger("pacman.bufferPages", 3)));
+
+    /**
+     * If true, the {@code CANVAS} renderer draws frames as fast as possible rather than at the {@code FRAME_RATE};
+     * configurable via the {@code pacman.uncapped} system property.
+     */
+    protected final boolean UNCAPPED_FRAME_RATE = Boolean.getBoolean("pacman.uncapped");
+
+    /**
+     * The integer scale the window is opened at; configurable via the {@code pacman.windowScale} system property
+     */
+    protected final int WINDOW_SCALE = Math.max(1, Integer.getInteger("pacman.windowScale", 1));
+
+    /**
+     * If true, the window can be resized; configurable via the {@code pacman.resizable} system property
+     */
+    protected final boolean RESIZABLE_WINDOW = Boolean.getBoolean("pacman.resizable");
+
+    /**
+     * If true, frames are drawn at the games native resolution in to the {@code backbuffer}, which is then scaled
+     * up by the largest whole amount that fits the window. Used when the window is resizable, or opened at a scale.
+     *
+     * @see #presentBackbuffer(Graphics2D, int, int)
+     */
+    protected final boolean SCALED_RENDERING = RESIZABLE_WINDOW || WINDOW_SCALE > 1;
+
+    /**
+     * The image frames are drawn in to when using {@code SCALED_RENDERING}, or when the {@code PANEL} renderer uses
+     * {@code DIRTY_REGION_RENDERING}; kept between frames, so that only the changed areas of each frame need to be
+     * drawn in to it.
+     */
+    protected BufferedImage backbuffer;
+
+    /**
+     * If true, the {@code PANEL} renderer only draws the areas of each frame that have changed; disabled using the
+     * {@code pacman.fullRedraw} system property.
+     *
+     * @see #collectDirtyRegion(DirtyRegion)
+     */
+    protected final boolean DIRTY_REGION_RENDERING = !Boolean.getBoolean("pacman.fullRedraw");
+
+    /**
+     * The areas of the game changed since the last frame drawn by the {@code PANEL} renderer
+     */
+    protected final DirtyRegion dirtyRegion = new DirtyRegion();
+
+    /**
+     * The bounds of the {@code dirtyRegion}; the area of the {@code mainPanel} presented after a partial frame
+     */
+    protected final Rectangle dirtyBounds = new Rectangle();
+
+    /**
+     * If true, the {@code PANEL} renderer draws each frame in to the {@code backbuffer}, and the panel only presents
+     * it. The changed areas of a frame can then be drawn all at once, and presented as a single area.
+     */
+    protected final boolean BACKBUFFERED_PANEL = SCALED_RENDERING || DIRTY_REGION_RENDERING;
+
+    /**
+     * The interpolation alpha used while drawing the areas of a frame, so that every area is drawn at the same point
+     * in time; negative when not drawing a frame.
+     *
+     * @see #getInterpolationAlpha()
+     */
+    protected double frameInterpolationAlpha = -1;
+
+    /**
+     * The amount of frames drawn; a frame drawn in several areas is only counted once
+     *
+     * @see #getFrameCount()
+     */
+    protected long frameCount = 0;
+
+    /**
+     * The thread drawing frames when using the {@code CANVAS} renderer
+     *
+     * @see RenderLoop
+     */
+    protected RenderLoop renderLoop;
+
+    /**
+     * The time (in nanoseconds) taken to present the last frame drawn by the {@code CANVAS} renderer
+     *
+     * @see #getLastPresentTime()
+     */
+    protected volatile long lastPresentTime = 0;
+
+    /**
+     * The thread running the fixed-step simulation
+     *
+     * @see SimulationLoop
+     */
+    protected SimulationLoop simulationLoop;
+
+    /**
+     * Held while updating or drawing the game, so that a frame is never drawn part-way through an update tick
+     */
+    protected final Object simulationLock = new Object();
+
+    /**
+     * Input events received from the window that are yet to be processed by the simulation
+     *
+     * @see #processInput()
+     */
+    protected final ConcurrentLinkedQueue<InputEvent> pendingInput = new ConcurrentLinkedQueue<>();
+
     private boolean graphicsReady = false;
-    private long currentTime = 0;
-    private long previousTime = 0;
 
     Color black = Color.BLACK;
     Color orange = Color.ORANGE;
@@ -45,75 +219,343 @@ public abstract class CoreEngine implements EngineComponent, MouseMotionListener
     /* Core Entry Methods */
 
     public CoreEngine(int width, int height, String title) {
+        this(width, height, title, false);
+    }
+
+    public CoreEngine(int width, int height, String title, boolean headless) {
         this.WINDOW_WIDTH = width;
         this.WINDOW_HEIGHT = height;
         this.WINDOW_TITLE = title;
+        this.HEADLESS = headless;
 
         this.initialiseEngine();
-        SwingUtilities.invokeLater(this::initialiseFrame);
+        if(!headless) {
+            SwingUtilities.invokeLater(this::initialiseFrame);
+        }
     }
 
     protected void initialiseFrame() {
         mainFrame = new JFrame();
-        mainPanel = new DrawPanel(this);
 
-        mainFrame.setSize(WINDOW_WIDTH, WINDOW_HEIGHT);
+        mainFrame.setSize(WINDOW_WIDTH * WINDOW_SCALE, WINDOW_HEIGHT * WINDOW_SCALE);
         mainFrame.setTitle(WINDOW_TITLE);
-        mainFrame.setResizable(false);
+        mainFrame.setResizable(RESIZABLE_WINDOW);
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         mainFrame.setLocation(200,200);
 
-        mainPanel.setDoubleBuffered(true);
-        mainPanel.addMouseListener(this);
-        mainPanel.addMouseMotionListener(this);
+        QueuedMouseListener mouseListener = new QueuedMouseListener();
+        if(RENDER_BACKEND == RENDERER.CANVAS) {
+            mainCanvas = new Canvas();
+            mainCanvas.setIgnoreRepaint(true);
+            mainCanvas.addMouseListener(mouseListener);
+            mainCanvas.addMouseMotionListener(mouseListener);
+
+            mainFrame.setIgnoreRepaint(true);
+            mainFrame.add(mainCanvas);
+        } else {
+            mainPanel = new DrawPanel(this);
+            mainPanel.setDoubleBuffered(true);
+            mainPanel.addMouseListener(mouseListener);
+            mainPanel.addMouseMotionListener(mouseListener);
+
+            mainFrame.add(mainPanel);
+        }
 
-        mainFrame.add(mainPanel);
         mainFrame.setVisible(true);
 
         KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this::handleKeyEvent);
 
         Insets insets = mainFrame.getInsets();
-        mainFrame.setSize(WINDOW_WIDTH + insets.left + insets.right, WINDOW_HEIGHT + insets.top + insets.bottom);
+        mainFrame.setSize((WINDOW_WIDTH * WINDOW_SCALE) + insets.left + insets.right, (WINDOW_HEIGHT * WINDOW_SCALE) + insets.top + insets.bottom);
+
+        if(mainCanvas != null) {
+            // The buffer strategy can only be created once the canvas is displayable
+            mainCanvas.createBufferStrategy(BUFFER_PAGES);
+            bufferStrategy = mainCanvas.getBufferStrategy();
+        }
     }
 
     protected void engineStart() {
         this.graphicsReady = true;
 
-        this.gameLoop.setRepeats(true);
-        this.gameLoop.start();
+        if(RENDER_BACKEND == RENDERER.CANVAS) {
+            this.renderLoop.start();
+        } else {
+            this.gameLoop.setRepeats(true);
+            this.gameLoop.start();
+        }
+
+        this.simulationLoop.start();
     }
 
     /* Handler Methods */
 
+    /**
+     * Queues the key event provided to be processed by the simulation on it's next tick
+     *
+     * @param e The key event received
+     * @return False, allowing the event to continue to be dispatched
+     */
     protected boolean handleKeyEvent(KeyEvent e) {
-        switch (e.getID()) {
-            case KeyEvent.KEY_PRESSED -> this.keyPressed(e);
-            case KeyEvent.KEY_RELEASED -> this.keyReleased(e);
-            case KeyEvent.KEY_TYPED -> this.keyTyped(e);
-        }
-
+        pendingInput.add(e);
         return false;
     }
 
+    /**
+     * Dispatches the input events received since the last tick to their handlers. Called by the simulation
+     * before each tick, so that input is handled on the same thread as the rest of the game logic.
+     */
+    protected void processInput() {
+        InputEvent e;
+        while((e = pendingInput.poll()) != null) {
+            if(e instanceof KeyEvent key) {
+                switch (key.getID()) {
+                    case KeyEvent.KEY_PRESSED -> this.keyPressed(key);
+                    case KeyEvent.KEY_RELEASED -> this.keyReleased(key);
+                    case KeyEvent.KEY_TYPED -> this.keyTyped(key);
+                }
+            } else if(e instanceof MouseEvent mouse) {
+                switch (mouse.getID()) {
+                    case MouseEvent.MOUSE_CLICKED -> this.mouseClicked(mouse);
+                    case MouseEvent.MOUSE_PRESSED -> this.mousePressed(mouse);
+                    case MouseEvent.MOUSE_RELEASED -> this.mouseReleased(mouse);
+                    case MouseEvent.MOUSE_ENTERED -> this.mouseEntered(mouse);
+                    case MouseEvent.MOUSE_EXITED -> this.mouseExited(mouse);
+                    case MouseEvent.MOUSE_MOVED -> this.mouseMoved(mouse);
+                    case MouseEvent.MOUSE_DRAGGED -> this.mouseDragged(mouse);
+                }
+            }
+        }
+    }
+
     /* Accessory Methods */
     protected void initialiseEngine() {
-        this.gameLoop = new GameTimer(30, e -> {
-            double a = measureTime();
-            update(a / 1000.);
+        this.gameLoop = new GameTimer(FRAME_RATE, e -> repaintPanel());
+        this.renderLoop = new RenderLoop(FRAME_RATE);
+        this.simulationLoop = new SimulationLoop(TICK_RATE);
+    }
+
+    /**
+     * Draws a frame of the game using the graphics provided. Holds the {@code simulationLock} while drawing, so
+     * that the frame is never drawn part-way through an update tick.
+     *
+     * @param g The graphics to draw the frame with
+     */
+    protected void drawFrame(Graphics2D g) {
+        synchronized (simulationLock) {
+            // The areas of a frame drawn by repaintPanel have already been counted
+            if(frameInterpolationAlpha < 0) {
+                frameCount++;
+            }
+
+            engineGraphics = g;
+            engineGraphics.setRenderingHints(new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON));
+
+            if(graphicsReady) {
+                paintComponent();
+            }
+        }
+    }
+
+    /**
+     * Draws the next frame on to the {@code mainPanel}. If only part of the game has changed since the last frame, only
+     * the changed areas are drawn in to the {@code backbuffer}, in a single pass, and only their bounds are presented.
+     *
+     * The frame is drawn immediately, while holding the {@code simulationLock}, rather than being requested using
+     * {@code repaint}; otherwise the simulation could move an entity outside of the area requested before it's drawn.
+     */
+    protected void repaintPanel() {
+        if(!BACKBUFFERED_PANEL) {
             mainPanel.repaint();
-        });
+            return;
+        }
+
+        synchronized (simulationLock) {
+            dirtyRegion.clear();
+            boolean partial = graphicsReady && DIRTY_REGION_RENDERING && collectDirtyRegion(dirtyRegion);
+            frameCount++;
+
+            frameInterpolationAlpha = simulationLoop.getInterpolationAlpha();
+            try {
+                drawBackbuffer(mainPanel.getGraphicsConfiguration(), partial ? dirtyRegion : null);
+
+                if(!partial) {
+                    mainPanel.paintImmediately(0, 0, mainPanel.getWidth(), mainPanel.getHeight());
+                } else {
+                    // The backbuffer holds the whole frame, so the unchanged areas within the bounds are presented as is
+                    Rectangle area = dirtyRegion.getBounds(dirtyBounds);
+                    int scale = getWindowScale(mainPanel.getWidth(), mainPanel.getHeight());
+                    int offsetX = getWindowOffset(mainPanel.getWidth(), WINDOW_WIDTH, scale);
+                    int offsetY = getWindowOffset(mainPanel.getHeight(), WINDOW_HEIGHT, scale);
+                    mainPanel.paintImmediately(offsetX + (area.x * scale), offsetY + (area.y * scale), area.width * scale, area.height * scale);
+                }
+            } finally {
+                frameInterpolationAlpha = -1;
+            }
+        }
+    }
+
+    /**
+     * Draws a frame in to the {@code backbuffer} at the games native resolution, creating the backbuffer first if
+     * needed
+     *
+     * @param gc The configuration of the device the backbuffer will be drawn to
+     * @param region The areas of the frame to draw, all drawn in a single pass; or null to draw the entire frame
+     */
+    protected void drawBackbuffer(GraphicsConfiguration gc, DirtyRegion region) {
+        if(gc == null) return;
+
+        if(backbuffer == null) {
+            backbuffer = gc.createCompatibleImage(WINDOW_WIDTH, WINDOW_HEIGHT);
+            region = null;
+        }
+
+        Graphics2D g = backbuffer.createGraphics();
+        try {
+            if(region == null) {
+                drawFrame(g);
+            } else {
+                g.setClip(createClip(region));
+                drawFrame(g);
+            }
+        } finally {
+            g.dispose();
+        }
     }
 
-    protected long measureTime() {
-        currentTime = System.currentTimeMillis();
-        if(previousTime == 0) {
-            // Not called before, measurement will be zero for first call
-            previousTime = currentTime;
+    /**
+     * Creates the clip covering every area of the region provided, so that a frame only needs to be drawn once no
+     * matter how many areas have changed
+     *
+     * @param region The areas to cover
+     * @return The clip
+     */
+    protected Shape createClip(DirtyRegion region) {
+        if(region.size() == 1) return region.get(0);
+
+        Area clip = new Area();
+        for(int i = 0; i < region.size(); i++) {
+            clip.add(new Area(region.get(i)));
         }
 
-        long measured = currentTime - previousTime;
-        previousTime = currentTime;
-        return measured;
+        return clip;
+    }
+
+    /**
+     * Draws the {@code backbuffer} scaled up by the largest whole amount that fits the area provided, using
+     * nearest-neighbour scaling so that every pixel stays sharp. The frame is centered, and any space left around it
+     * is filled black.
+     *
+     * @param g The graphics to draw with
+     * @param width The width of the area being drawn to
+     * @param height The height of the area being drawn to
+     */
+    protected void presentBackbuffer(Graphics2D g, int width, int height) {
+        int scale = getWindowScale(width, height);
+        int offsetX = getWindowOffset(width, WINDOW_WIDTH, scale);
+        int offsetY = getWindowOffset(height, WINDOW_HEIGHT, scale);
+        int scaledWidth = WINDOW_WIDTH * scale;
+        int scaledHeight = WINDOW_HEIGHT * scale;
+
+        g.setColor(black);
+        g.fillRect(0, 0, width, offsetY);
+        g.fillRect(0, offsetY + scaledHeight, width, height - offsetY - scaledHeight);
+        g.fillRect(0, offsetY, offsetX, scaledHeight);
+        g.fillRect(offsetX + scaledWidth, offsetY, width - offsetX - scaledWidth, scaledHeight);
+
+        if(backbuffer == null) {
+            g.fillRect(offsetX, offsetY, scaledWidth, scaledHeight);
+            return;
+        }
+
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(backbuffer, offsetX, offsetY, scaledWidth, scaledHeight, null);
+    }
+
+    /**
+     * Finds the largest whole scale the game can be drawn at within the area provided
+     *
+     * @param width The width of the area
+     * @param height The height of the area
+     * @return The scale; at least 1, even if the game doesn't fit the area
+     */
+    protected int getWindowScale(int width, int height) {
+        return Math.max(1, Math.min(width / WINDOW_WIDTH, height / WINDOW_HEIGHT));
+    }
+
+    /**
+     * Finds the offset needed to center the game within an area, along one axis
+     *
+     * @param available The size of the area
+     * @param size The native size of the game
+     * @param scale The scale the game is drawn at
+     * @return The offset
+     */
+    protected int getWindowOffset(int available, int size, int scale) {
+        return (available - (size * scale)) / 2;
+    }
+
+    /**
+     * Maps the position of the mouse event provided from the window to the game, undoing the scaling and centering
+     * applied when using {@code SCALED_RENDERING}
+     *
+     * @param e The mouse event received from the window
+     * @return A mouse event positioned in the game, or the same event if the game isn't scaled
+     */
+    protected MouseEvent toGameSpace(MouseEvent e) {
+        Component c = e.getComponent();
+        if(!SCALED_RENDERING || c == null) return e;
+
+        int scale = getWindowScale(c.getWidth(), c.getHeight());
+        int x = Math.floorDiv(e.getX() - getWindowOffset(c.getWidth(), WINDOW_WIDTH, scale), scale);
+        int y = Math.floorDiv(e.getY() - getWindowOffset(c.getHeight(), WINDOW_HEIGHT, scale), scale);
+
+        return new MouseEvent(c, e.getID(), e.getWhen(), e.getModifiersEx(), x, y, e.getXOnScreen(), e.getYOnScreen(),
+                e.getClickCount(), e.isPopupTrigger(), e.getButton());
+    }
+
+    /**
+     * Adds the areas of the game that have changed since the last frame to the region provided. Called while holding
+     * the {@code simulationLock}, before each frame drawn by the {@code PANEL} renderer.
+     *
+     * @param region The region to add the changed areas to
+     * @return True if only the areas in the region need to be drawn, false if the whole frame must be drawn. Unless
+     *         overridden, the whole frame is always drawn.
+     */
+    protected boolean collectDirtyRegion(DirtyRegion region) {
+        return false;
+    }
+
+    /**
+     * Returns the amount of frames drawn so far. Frames are sometimes drawn in several separate areas, so fragments
+     * measuring frames should use this rather than counting their own redraws.
+     *
+     * @return The amount of frames drawn
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the time taken to present the last frame drawn by the {@code CANVAS} renderer; the time taken to
+     * show the buffer drawn and synchronise with the display.
+     *
+     * @return The time taken, in nanoseconds. Always zero when using the {@code PANEL} renderer.
+     */
+    public long getLastPresentTime() {
+        return lastPresentTime;
+    }
+
+    /**
+     * Returns how far the simulation is between the last tick and the next, used to interpolate the
+     * positions of moving elements when drawing.
+     *
+     * @return A value between 0 (the last tick) and 1 (the next tick)
+     */
+    public double getInterpolationAlpha() {
+        if(frameInterpolationAlpha >= 0) return frameInterpolationAlpha;
+
+        return simulationLoop == null ? 1 : simulationLoop.getInterpolationAlpha();
     }
 
 
@@ -126,15 +568,182 @@ public abstract class CoreEngine implements EngineComponent, MouseMotionListener
             this.engine = e;
         }
 
+        /**
+         * Draws the frame; when using a {@code BACKBUFFERED_PANEL}, the frame has already been drawn in to the
+         * {@code backbuffer}, so only the backbuffer is drawn.
+         *
+         * @param g The graphics to draw with
+         */
         @Override
         public void paintComponent(Graphics g) {
-            engineGraphics = (Graphics2D)g;
-            engineGraphics.setRenderingHints(new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON));
+            if(BACKBUFFERED_PANEL) {
+                this.engine.presentBackbuffer((Graphics2D)g, getWidth(), getHeight());
+            } else {
+                this.engine.drawFrame((Graphics2D)g);
+            }
+        }
+    }
 
-            if(graphicsReady) {
-                this.engine.paintComponent();
+    /**
+     * Draws frames directly to the {@code mainCanvas} using it's {@code BufferStrategy}, on a dedicated thread. Frames
+     * are drawn at the frame rate provided, unless the frame rate is uncapped.
+     */
+    protected class RenderLoop extends Thread {
+        /**
+         * The length of each frame, in nanoseconds
+         */
+        protected final long frameLength;
+
+        protected RenderLoop(int frameRate) {
+            super("Render");
+            this.frameLength = 1_000_000_000L / Math.max(1, frameRate);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long nextFrameTime = System.nanoTime();
+            while(!isInterrupted()) {
+                BufferStrategy strategy = bufferStrategy;
+                if(strategy != null) {
+                    renderFrame(strategy);
+                }
+
+                if(!UNCAPPED_FRAME_RATE || strategy == null) {
+                    // Sleep until the next frame is due; if we've fallen behind, don't try to catch up
+                    nextFrameTime = Math.max(nextFrameTime + frameLength, System.nanoTime());
+                    LockSupport.parkNanos(nextFrameTime - System.nanoTime());
+                }
             }
         }
+
+        /**
+         * Draws and presents a single frame, redrawing it if the contents of the buffers are lost.
+         *
+         * @param strategy The buffer strategy to draw with
+         */
+        protected void renderFrame(BufferStrategy strategy) {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        if(SCALED_RENDERING) {
+                            drawBackbuffer(mainCanvas.getGraphicsConfiguration(), null);
+                            presentBackbuffer(g, mainCanvas.getWidth(), mainCanvas.getHeight());
+                        } else {
+                            drawFrame(g);
+                        }
+                    } finally {
+                        g.dispose();
+                    }
+                } while(strategy.contentsRestored());
+
+                long presentStart = System.nanoTime();
+                strategy.show();
+                Toolkit.getDefaultToolkit().sync();
+                lastPresentTime = System.nanoTime() - presentStart;
+            } while(strategy.contentsLost());
+        }
+    }
+
+    /**
+     * Runs the game simulation on a dedicated thread at a fixed tick rate. Time is measured using
+     * {@code System.nanoTime} and accumulated, with one update performed for every tick's worth of
+     * time that has passed; this keeps the speed of the game constant regardless of how long each
+     * update (or frame) takes.
+     */
+    protected class SimulationLoop extends Thread {
+        /**
+         * The length of each tick, in nanoseconds
+         */
+        protected final long tickLength;
+
+        /**
+         * The amount of time passed to each update, in seconds
+         */
+        protected final double tickTime;
+
+        /**
+         * The time (from {@code System.nanoTime}) at which the simulation last caught up
+         */
+        protected long caughtUpTime;
+
+        /**
+         * The amount of time that had accumulated towards the next tick when the simulation last caught up
+         */
+        protected long caughtUpRemainder;
+
+        protected SimulationLoop(int tickRate) {
+            super("Simulation");
+            this.tickLength = 1_000_000_000L / tickRate;
+            this.tickTime = 1. / tickRate;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long previousTime = System.nanoTime();
+            long accumulated = 0;
+
+            while(!isInterrupted()) {
+                long currentTime = System.nanoTime();
+                accumulated += Math.min(currentTime - previousTime, MAX_CATCH_UP_TIME);
+                previousTime = currentTime;
+
+                synchronized (simulationLock) {
+                    while(accumulated >= tickLength) {
+                        // A failed tick must not end the simulation thread, or the game would freeze
+                        try {
+                            processInput();
+                            update(tickTime);
+                        } catch (RuntimeException e) {
+                            System.err.println("Simulation tick failed.. " + e.getMessage());
+                            e.printStackTrace();
+                        }
+                        accumulated -= tickLength;
+                    }
+
+                    caughtUpTime = currentTime;
+                    caughtUpRemainder = accumulated;
+                }
+
+                // Sleep until the next tick is due
+                LockSupport.parkNanos(tickLength - accumulated);
+            }
+        }
+
+        /**
+         * Calculates how far the simulation currently is between the last tick and the next. Must be called
+         * while holding the {@code simulationLock}.
+         *
+         * @return A value between 0 (the last tick) and 1 (the next tick)
+         */
+        protected double getInterpolationAlpha() {
+            long progress = caughtUpRemainder + (System.nanoTime() - caughtUpTime);
+            return Math.max(0, Math.min(1, progress / (double) tickLength));
+        }
+    }
+
+    /**
+     * Queues mouse events received from the window to be processed by the simulation on it's next tick
+     *
+     * @see #processInput()
+     */
+    protected class QueuedMouseListener extends MouseAdapter {
+        @Override
+        public void mouseClicked(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mousePressed(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mouseReleased(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mouseEntered(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mouseExited(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mouseMoved(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
+        @Override
+        public void mouseDragged(MouseEvent e) { pendingInput.add(toGameSpace(e)); }
     }
 
     protected class GameTimer extends Timer {
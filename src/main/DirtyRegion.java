@@ -0,0 +1,197 @@
+package main;
+
+import java.awt.*;
+
+/**
+ * A DirtyRegion collects the areas of the game that have changed since the last frame was drawn, so that only those
+ * areas need to be drawn again. Areas that overlap are merged in to a single rectangle, and the amount of rectangles
+ * is kept at or below {@code MAX_RECTANGLES} by merging the pair that wastes the least area when no room is left.
+ *
+ * Areas are clamped to the game boundary. No objects are created once the region is constructed.
+ *
+ * @author Harry Felton - 18032692
+ * @see CoreEngine#collectDirtyRegion(DirtyRegion)
+ */
+public class DirtyRegion {
+    /**
+     * The largest amount of separate rectangles stored; beyond this, rectangles are merged
+     */
+    protected static final int MAX_RECTANGLES = 8;
+
+    /**
+     * The rectangles making up the region; only the first {@code count} are in use. The rest are spares, used while
+     * adding and merging areas.
+     */
+    protected final Rectangle[] rectangles = new Rectangle[MAX_RECTANGLES + 2];
+
+    /**
+     * The amount of rectangles in use
+     */
+    protected int count = 0;
+
+    /**
+     * Constructs an empty region
+     */
+    public DirtyRegion() {
+        for(int i = 0; i < rectangles.length; i++) {
+            rectangles[i] = new Rectangle();
+        }
+    }
+
+    /**
+     * Adds the area provided to the region
+     *
+     * @param x The X position of the area
+     * @param y The Y position of the area
+     * @param width The width of the area
+     * @param height The height of the area
+     */
+    public void add(int x, int y, int width, int height) {
+        int minX = Math.max(0, x);
+        int minY = Math.max(0, y);
+        int maxX = Math.min(PacmanGame.WIDTH, x + width);
+        int maxY = Math.min(PacmanGame.HEIGHT, y + height);
+        if(minX >= maxX || minY >= maxY) return;
+
+        Rectangle added = rectangles[count];
+        added.setBounds(minX, minY, maxX - minX, maxY - minY);
+
+        // Absorb every rectangle the new area overlaps; each merge may grow the area to overlap others
+        for(int i = 0; i < count; i++) {
+            if(rectangles[i].intersects(added)) {
+                added.add(rectangles[i]);
+                removeRectangle(i);
+                added = rectangles[count];
+                i = -1;
+            }
+        }
+        count++;
+
+        if(count > MAX_RECTANGLES) {
+            mergeClosestPair();
+        }
+    }
+
+    /**
+     * Adds the area provided to the region
+     *
+     * @param area The area to add; ignored if empty
+     */
+    public void add(Rectangle area) {
+        add(area.x, area.y, area.width, area.height);
+    }
+
+    /**
+     * Adds every area of the region provided to this region
+     *
+     * @param region The region to add
+     */
+    public void add(DirtyRegion region) {
+        for(int i = 0; i < region.count; i++) {
+            add(region.rectangles[i]);
+        }
+    }
+
+    /**
+     * Removes every area from the region
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Tests if the region is empty
+     *
+     * @return True if no areas have been added since the region was last cleared
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the amount of separate rectangles making up the region
+     *
+     * @return The amount of rectangles
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns a rectangle making up the region. The rectangle is re-used, and must not be modified or kept.
+     *
+     * @param index The index of the rectangle, less than {@code size()}
+     * @return The rectangle
+     */
+    public Rectangle get(int index) {
+        return rectangles[index];
+    }
+
+    /**
+     * Finds the smallest rectangle containing every area of the region
+     *
+     * @param result The rectangle the bounds are stored in; left empty if the region is empty
+     * @return The rectangle provided
+     */
+    public Rectangle getBounds(Rectangle result) {
+        if(count == 0) {
+            result.setBounds(0, 0, 0, 0);
+            return result;
+        }
+
+        result.setBounds(rectangles[0]);
+        for(int i = 1; i < count; i++) {
+            result.add(rectangles[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the rectangle at the index provided by swapping it with the last rectangle in use. The removed
+     * rectangle object is kept, and is moved to the first unused slot.
+     *
+     * @param index The index of the rectangle to remove
+     */
+    private void removeRectangle(int index) {
+        Rectangle removed = rectangles[index];
+        int last = count - 1;
+
+        rectangles[index] = rectangles[last];
+        rectangles[last] = rectangles[count];
+        rectangles[count] = removed;
+        count--;
+    }
+
+    /**
+     * Merges the pair of rectangles whose union adds the least area not covered by either; the merged rectangle
+     * is then checked against the others again, as it may now overlap them.
+     */
+    private void mergeClosestPair() {
+        int bestA = 0, bestB = 1;
+        long bestWaste = Long.MAX_VALUE;
+        for(int a = 0; a < count; a++) {
+            for(int b = a + 1; b < count; b++) {
+                Rectangle ra = rectangles[a];
+                Rectangle rb = rectangles[b];
+                int unionWidth = Math.max(ra.x + ra.width, rb.x + rb.width) - Math.min(ra.x, rb.x);
+                int unionHeight = Math.max(ra.y + ra.height, rb.y + rb.height) - Math.min(ra.y, rb.y);
+                long waste = ((long) unionWidth * unionHeight) - ((long) ra.width * ra.height) - ((long) rb.width * rb.height);
+                if(waste < bestWaste) {
+                    bestWaste = waste;
+                    bestA = a;
+                    bestB = b;
+                }
+            }
+        }
+
+        Rectangle merged = rectangles[bestA];
+        merged.add(rectangles[bestB]);
+        removeRectangle(bestB);
+
+        // Re-add the merged rectangle, so that it absorbs any rectangles it now overlaps
+        int x = merged.x, y = merged.y, width = merged.width, height = merged.height;
+        removeRectangle(bestA);
+        add(x, y, width, height);
+    }
+}
@@ -0,0 +1,266 @@
+package main;
+
+import entity.Entity;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * The EntityGrid is a spatial index that buckets entities by the grid cells (of size {@code GRID_SIZE}) their
+ * bounds overlap. This allows the entities near a particular area to be found by only searching the cells
+ * that the area overlaps, rather than every entity in the game.
+ *
+ * Positions outside of the game are clamped to the nearest cell, so entities that leave the game boundary are
+ * still stored (and found) correctly.
+ *
+ * @author Harry Felton - 18032692
+ * @see controllers.EntityController#getEntitiesNear(Rectangle, List)
+ */
+public class EntityGrid {
+    /**
+     * Stores an entity, along with the range of cells it is currently stored in
+     */
+    private static class Entry {
+        /**
+         * The entity this entry is for
+         */
+        final Entity entity;
+
+        /**
+         * The order this entity was added to the grid; used so that query results are returned in the same
+         * order the entities were added.
+         */
+        final int order;
+
+        int minX, minY, maxX, maxY;
+
+        Entry(Entity entity, int order) {
+            this.entity = entity;
+            this.order = order;
+        }
+    }
+
+    /**
+     * The entries stored in each cell, keyed by {@code y * HORIZONTAL_GRID_COUNT + x}
+     */
+    private final Entry[][] cells;
+
+    /**
+     * The amount of entries stored in each cell
+     */
+    private final int[] cellCounts;
+
+    /**
+     * The entry for each entity currently stored in the grid
+     */
+    private final IdentityHashMap<Entity, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Re-used buffer holding the entries found during a query, before they're sorted
+     */
+    private Entry[] queryResults = new Entry[8];
+
+    /**
+     * The order given to the next entity added to the grid
+     */
+    private int nextOrder = 0;
+
+    /**
+     * Constructs an empty EntityGrid covering the whole game
+     */
+    public EntityGrid() {
+        int size = PacmanGame.HORIZONTAL_GRID_COUNT * PacmanGame.VERTICAL_GRID_COUNT;
+        cells = new Entry[size][];
+        cellCounts = new int[size];
+        for(int i = 0; i < size; i++) {
+            cells[i] = new Entry[4];
+        }
+    }
+
+    /**
+     * Adds the entity provided to the grid, using it's current bounds. Entities already in the grid are ignored.
+     *
+     * @param e The entity to add
+     */
+    public void add(Entity e) {
+        if(entries.containsKey(e)) return;
+
+        Entry entry = new Entry(e, nextOrder++);
+        setRange(entry, e);
+        entries.put(e, entry);
+        insert(entry);
+    }
+
+    /**
+     * Removes the entity provided from the grid. Entities not in the grid are ignored.
+     *
+     * @param e The entity to remove
+     */
+    public void remove(Entity e) {
+        Entry entry = entries.remove(e);
+        if(entry != null) {
+            erase(entry);
+        }
+    }
+
+    /**
+     * Removes all entities from the grid
+     */
+    public void clear() {
+        entries.clear();
+        Arrays.fill(cellCounts, 0);
+        for(Entry[] cell : cells) {
+            Arrays.fill(cell, null);
+        }
+    }
+
+    /**
+     * Updates the cells the entity provided is stored in, using it's current bounds. Should be called whenever
+     * an entity may have moved; if the entity is still within the same cells, no work is done.
+     *
+     * @param e The entity that may have moved
+     */
+    public void move(Entity e) {
+        Entry entry = entries.get(e);
+        if(entry == null) return;
+
+        int minX = toCell(e.getX(), PacmanGame.HORIZONTAL_GRID_COUNT);
+        int minY = toCell(e.getY(), PacmanGame.VERTICAL_GRID_COUNT);
+        int maxX = toCell(e.getX() + e.getWidth() - 1, PacmanGame.HORIZONTAL_GRID_COUNT);
+        int maxY = toCell(e.getY() + e.getHeight() - 1, PacmanGame.VERTICAL_GRID_COUNT);
+        if(minX == entry.minX && minY == entry.minY && maxX == entry.maxX && maxY == entry.maxY) return;
+
+        erase(entry);
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+        insert(entry);
+    }
+
+    /**
+     * Finds the entities stored in the cells overlapped by the area provided. The entities found are not
+     * guaranteed to intersect the area, however any entity that does intersect the area will be found.
+     *
+     * @param area The area to search
+     * @param results The list to store the entities in; it's cleared before use. Entities are stored in the
+     *                order they were added to the grid.
+     */
+    public void query(Rectangle area, List<Entity> results) {
+        results.clear();
+
+        int minX = toCell(area.x, PacmanGame.HORIZONTAL_GRID_COUNT);
+        int minY = toCell(area.y, PacmanGame.VERTICAL_GRID_COUNT);
+        int maxX = toCell(area.x + area.width - 1, PacmanGame.HORIZONTAL_GRID_COUNT);
+        int maxY = toCell(area.y + area.height - 1, PacmanGame.VERTICAL_GRID_COUNT);
+
+        int count = 0;
+        for(int y = minY; y <= maxY; y++) {
+            for(int x = minX; x <= maxX; x++) {
+                int cell = getIndex(x, y);
+                Entry[] cellEntries = cells[cell];
+                for(int i = 0; i < cellCounts[cell]; i++) {
+                    Entry entry = cellEntries[i];
+
+                    // An entry spanning multiple cells is only reported from the first cell both it and the area overlap
+                    if(x != Math.max(minX, entry.minX) || y != Math.max(minY, entry.minY)) continue;
+
+                    if(count == queryResults.length) {
+                        queryResults = Arrays.copyOf(queryResults, count * 2);
+                    }
+
+                    // Insert in order, the amount of results is small enough that an insertion sort is ideal
+                    int position = count++;
+                    while(position > 0 && queryResults[position - 1].order > entry.order) {
+                        queryResults[position] = queryResults[position - 1];
+                        position--;
+                    }
+                    queryResults[position] = entry;
+                }
+            }
+        }
+
+        for(int i = 0; i < count; i++) {
+            results.add(queryResults[i].entity);
+            queryResults[i] = null;
+        }
+    }
+
+    /**
+     * Sets the range of cells stored in the entry provided, using the entities current bounds
+     *
+     * @param entry The entry to update
+     * @param e The entity the range should be calculated from
+     */
+    private void setRange(Entry entry, Entity e) {
+        entry.minX = toCell(e.getX(), PacmanGame.HORIZONTAL_GRID_COUNT);
+        entry.minY = toCell(e.getY(), PacmanGame.VERTICAL_GRID_COUNT);
+        entry.maxX = toCell(e.getX() + e.getWidth() - 1, PacmanGame.HORIZONTAL_GRID_COUNT);
+        entry.maxY = toCell(e.getY() + e.getHeight() - 1, PacmanGame.VERTICAL_GRID_COUNT);
+    }
+
+    /**
+     * Stores the entry provided in every cell within it's range
+     *
+     * @param entry The entry to store
+     */
+    private void insert(Entry entry) {
+        for(int y = entry.minY; y <= entry.maxY; y++) {
+            for(int x = entry.minX; x <= entry.maxX; x++) {
+                int cell = getIndex(x, y);
+                if(cellCounts[cell] == cells[cell].length) {
+                    cells[cell] = Arrays.copyOf(cells[cell], cellCounts[cell] * 2);
+                }
+
+                cells[cell][cellCounts[cell]++] = entry;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry provided from every cell within it's range
+     *
+     * @param entry The entry to remove
+     */
+    private void erase(Entry entry) {
+        for(int y = entry.minY; y <= entry.maxY; y++) {
+            for(int x = entry.minX; x <= entry.maxX; x++) {
+                int cell = getIndex(x, y);
+                Entry[] cellEntries = cells[cell];
+                for(int i = 0; i < cellCounts[cell]; i++) {
+                    if(cellEntries[i] == entry) {
+                        // Order within a cell is irrelevant, so move the last entry in to the gap
+                        cellEntries[i] = cellEntries[--cellCounts[cell]];
+                        cellEntries[cellCounts[cell]] = null;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a position (in pixels) to the cell containing it, clamped to the game boundary
+     *
+     * @param position The position to convert
+     * @param cellCount The amount of cells along this axis
+     * @return The cell containing the position
+     */
+    private int toCell(int position, int cellCount) {
+        int cell = Math.floorDiv(position, PacmanGame.GRID_SIZE);
+        return Math.max(0, Math.min(cellCount - 1, cell));
+    }
+
+    /**
+     * Converts a cell position in to the index used by {@code cells}
+     *
+     * @param x The X position of the cell
+     * @param y The Y position of the cell
+     * @return The index of the cell
+     */
+    private int getIndex(int x, int y) {
+        return (y * PacmanGame.HORIZONTAL_GRID_COUNT) + x;
+    }
+}
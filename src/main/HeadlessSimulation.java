@@ -0,0 +1,187 @@
+package main;
+
+import java.awt.event.KeyEvent;
+import java.util.SplittableRandom;
+
+/**
+ * Runs games of Pacman without a window, sound or saved scoreboard, as fast as the machine allows. Pacman is
+ * steered by picking a random direction at a regular interval. Once all games have completed, a summary of the
+ * games played, and the speed they were simulated at, is printed.
+ *
+ * Usage: {@code java main.HeadlessSimulation [games] [maxTicksPerGame]}
+ *
+ * @author Harry Felton - 18032692
+ * @see PacmanGame#createHeadlessGame()
+ */
+public class HeadlessSimulation {
+    /**
+     * The amount of games simulated when none is specified
+     */
+    private static final int DEFAULT_GAMES = 100;
+
+    /**
+     * The maximum amount of ticks a single game may last when none is specified; five minutes of game time
+     */
+    private static final int DEFAULT_MAX_TICKS = CoreEngine.BASE_TICK_RATE * 60 * 5;
+
+    /**
+     * The amount of ticks between each random change of direction
+     */
+    private static final int STEERING_INTERVAL = 15;
+
+    /**
+     * The keys pressed to steer Pacman; steering uses key presses so that it's recorded in the games replay
+     */
+    private static final int[] STEERING_KEYS = {
+            KeyEvent.VK_W,
+            KeyEvent.VK_D,
+            KeyEvent.VK_S,
+            KeyEvent.VK_A
+    };
+
+    /**
+     * The game being simulated
+     */
+    protected final PacmanGame game;
+
+    /**
+     * The maximum amount of ticks a single game may last
+     */
+    protected final int maxTicks;
+
+    /**
+     * Used to steer Pacman; kept separate from the games random number generator so that steering doesn't
+     * affect the game itself
+     */
+    protected final SplittableRandom steering = new SplittableRandom();
+
+    /**
+     * The total amount of ticks simulated
+     */
+    protected long totalTicks = 0;
+
+    /**
+     * The total score achieved across every game simulated
+     */
+    protected long totalScore = 0;
+
+    /**
+     * The amount of games simulated
+     */
+    protected int gamesPlayed = 0;
+
+    /**
+     * Constructs the simulation using the headless game provided
+     *
+     * @param game The headless game to simulate
+     * @param maxTicks The maximum amount of ticks a single game may last
+     */
+    public HeadlessSimulation(PacmanGame game, int maxTicks) {
+        this.game = game;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Simulates a single game, from the start of the game until Pacman loses all lives or the tick limit
+     * is reached.
+     *
+     * @return The score achieved
+     */
+    public int playGame() {
+        double dt = 1. / game.TICK_RATE;
+
+        game.startGame();
+        int tick = 0;
+
+        // The game only enters the GAME state during the first tick, so the state is checked after each tick
+        do {
+            if(tick % STEERING_INTERVAL == 0) {
+                game.keyPressed(STEERING_KEYS[steering.nextInt(STEERING_KEYS.length)]);
+            }
+
+            game.update(dt);
+            tick++;
+        } while(tick < maxTicks && game.getGameState() != PacmanGame.STATE.DEATH);
+
+        int score = game.getPlayer().getScore();
+        totalTicks += tick;
+        totalScore += score;
+        gamesPlayed++;
+
+        return score;
+    }
+
+    /**
+     * Returns the amount of games simulated
+     *
+     * @return The amount of games
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Returns the total amount of ticks simulated across every game
+     *
+     * @return The amount of ticks
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Returns the total score achieved across every game simulated
+     *
+     * @return The total score
+     */
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Prints a summary of the games simulated so far
+     *
+     * @param elapsedNanos The amount of time taken to simulate the games
+     */
+    public void printSummary(long elapsedNanos) {
+        printSummary(gamesPlayed, totalTicks, totalScore, elapsedNanos);
+    }
+
+    /**
+     * Prints a summary of the games provided
+     *
+     * @param gamesPlayed The amount of games simulated
+     * @param totalTicks The total amount of ticks simulated across every game
+     * @param totalScore The total score achieved across every game
+     * @param elapsedNanos The amount of time taken to simulate the games
+     */
+    public static void printSummary(int gamesPlayed, long totalTicks, long totalScore, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.;
+
+        System.out.println("Games played: " + gamesPlayed);
+        System.out.println("Ticks simulated: " + totalTicks);
+        System.out.printf("Elapsed: %.2fs%n", elapsedSeconds);
+        System.out.printf("Games per minute: %.1f%n", gamesPlayed / elapsedSeconds * 60);
+        System.out.printf("Ticks per second: %.0f%n", totalTicks / elapsedSeconds);
+        System.out.printf("Mean score: %.1f%n", gamesPlayed == 0 ? 0 : (double) totalScore / gamesPlayed);
+    }
+
+    /**
+     * Entry point of the headless simulation
+     *
+     * @param args The amount of games to simulate, and the maximum amount of ticks per game (both optional)
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+
+        HeadlessSimulation simulation = new HeadlessSimulation(PacmanGame.createHeadlessGame(), maxTicks);
+
+        long start = System.nanoTime();
+        for(int i = 0; i < games; i++) {
+            simulation.playGame();
+        }
+
+        simulation.printSummary(System.nanoTime() - start);
+    }
+}
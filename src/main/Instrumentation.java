@@ -0,0 +1,116 @@
+package main;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumentation times the phases of each update tick and frame, recording the durations in to named
+ * {@code LatencyHistogram}s shared by every game in this process.
+ *
+ * Instrumentation is enabled using the {@code pacman.instrument} system property. When enabled, the histograms
+ * are written to the file named by the {@code pacman.instrumentFile} system property (defaults to
+ * {@code instrumentation.txt}) when the process exits, and can be queried at any time using
+ * {@link #getHistogram(String)}. When disabled, {@code ENABLED} is a constant false and the JIT removes the timing
+ * code entirely.
+ *
+ * Typical use:
+ * <pre>
+ *     long start = Instrumentation.start();
+ *     ...
+ *     Instrumentation.stop(histogram, start);
+ * </pre>
+ *
+ * @author Harry Felton - 18032692
+ * @see LatencyHistogram
+ */
+public class Instrumentation {
+    /**
+     * If true, durations are recorded; configurable via the {@code pacman.instrument} system property
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("pacman.instrument");
+
+    /**
+     * The file the histograms are written to on exit
+     */
+    protected static final String OUTPUT_FILE = System.getProperty("pacman.instrumentFile", "instrumentation.txt");
+
+    /**
+     * Every histogram created, by name
+     */
+    protected static final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    static {
+        if(ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(new File(OUTPUT_FILE)), "Instrumentation"));
+        }
+    }
+
+    private Instrumentation() {}
+
+    /**
+     * Returns the histogram with the name provided, creating it if it doesn't exist yet. Histograms should be
+     * fetched once and kept, rather than fetched every time a duration is recorded.
+     *
+     * @param name The name of the histogram
+     * @return The histogram
+     */
+    public static LatencyHistogram getHistogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Returns every histogram created so far, sorted by name
+     *
+     * @return The histograms
+     */
+    public static ArrayList<LatencyHistogram> getHistograms() {
+        ArrayList<LatencyHistogram> sorted = new ArrayList<>(histograms.values());
+        sorted.sort(Comparator.comparing(LatencyHistogram::getName));
+
+        return sorted;
+    }
+
+    /**
+     * Marks the start of a timed phase
+     *
+     * @return The current time, in nanoseconds, or zero if instrumentation is disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Marks the end of a timed phase, recording it's duration in the histogram provided
+     *
+     * @param histogram The histogram to record the duration in
+     * @param start The value returned by {@code start} when the phase began
+     */
+    public static void stop(LatencyHistogram histogram, long start) {
+        if(ENABLED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes a summary of every histogram to the file provided
+     *
+     * @param file The file to write to
+     */
+    public static void dump(File file) {
+        try(PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for(LatencyHistogram histogram : getHistograms()) {
+                out.println(histogram);
+            }
+
+            System.out.println("Saved instrumentation to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Failed to save instrumentation to file.. " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A LatencyHistogram counts recorded durations in a fixed set of buckets, allowing percentiles to be found without
+ * storing every duration. Durations are bucketed by their highest set bit, with each power of two split in to
+ * {@code SUB_BUCKETS} linear buckets, so every duration is counted with a relative error of at most 1/16th.
+ *
+ * Recording is lock-free and never allocates, so any number of threads may record in to, and read from, the same
+ * histogram at once.
+ *
+ * @author Harry Felton - 18032692
+ * @see Instrumentation
+ */
+public class LatencyHistogram {
+    /**
+     * The amount of bits used to select the linear bucket within each power of two
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The amount of linear buckets within each power of two
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The largest power of two tracked; longer durations (over ~18 minutes, in nanoseconds) are counted in the last bucket
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * The amount of buckets in every histogram
+     */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * The name of the histogram, used when printing it
+     */
+    protected final String name;
+
+    /**
+     * The amount of durations counted in each bucket
+     */
+    protected final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The amount of durations recorded
+     */
+    protected final AtomicLong count = new AtomicLong();
+
+    /**
+     * The sum of every duration recorded
+     */
+    protected final AtomicLong total = new AtomicLong();
+
+    /**
+     * The longest duration recorded
+     */
+    protected final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructs an empty histogram
+     *
+     * @param name The name of the histogram
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param nanos The duration to record, in nanoseconds. Negative durations are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        buckets.incrementAndGet(getBucket(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Finds the duration below which the percentage of recorded durations provided fall
+     *
+     * @param percentile The percentile to find, between 0 and 100
+     * @return The duration, in nanoseconds; the upper bound of the bucket containing the percentile, or zero if
+     *         nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        long recorded = count.get();
+        if(recorded == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+        long seen = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if(seen >= target) {
+                return Math.min(getBucketUpperBound(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Returns the amount of durations recorded
+     *
+     * @return The amount of durations
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the durations recorded
+     *
+     * @return The mean duration, in nanoseconds, or zero if nothing has been recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : total.get() / (double) recorded;
+    }
+
+    /**
+     * Returns the longest duration recorded
+     *
+     * @return The longest duration, in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the name of the histogram
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Discards every duration recorded
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Formats a summary of the histogram on a single line; the count, mean, p50, p99, p99.9 and max, in microseconds
+     *
+     * @return The summary
+     */
+    @Override
+    public String toString() {
+        return String.format("%-44s count=%-10d mean=%9.1fus p50=%9.1fus p99=%9.1fus p99.9=%9.1fus max=%9.1fus",
+                name, getCount(), getMean() / 1000, getPercentile(50) / 1000., getPercentile(99) / 1000.,
+                getPercentile(99.9) / 1000., getMax() / 1000.);
+    }
+
+    /**
+     * Finds the bucket the duration provided is counted in
+     *
+     * @param value The duration, in nanoseconds
+     * @return The index of the bucket
+     */
+    private static int getBucket(long value) {
+        if(value < SUB_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if(exponent > MAX_EXPONENT) {
+            // Beyond the largest power of two tracked; counted in the last bucket
+            return BUCKET_COUNT - 1;
+        }
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Finds the largest duration counted by the bucket provided
+     *
+     * @param bucket The index of the bucket
+     * @return The largest duration, in nanoseconds
+     */
+    private static long getBucketUpperBound(int bucket) {
+        if(bucket < SUB_BUCKETS) return bucket;
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) * width) + width - 1;
+    }
+}
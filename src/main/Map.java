@@ -2,10 +2,6 @@ package main;
 
 import entity.Entity;
 import entity.PacmanEntity;
-import entity.pickup.FruitPointPickup;
-import entity.pickup.LargePointPickup;
-import entity.pickup.Pickup;
-import entity.pickup.PointPickup;
 import exception.InvalidMapException;
 
 import java.awt.*;
@@ -57,6 +53,13 @@ public class Map {
      */
     protected LinkedList<Point> ghostSpawnPoints;
 
+    /**
+     * The pickups remaining on this map, created each time the map is prepared for game play
+     *
+     * @see #prepareMap(PacmanGame)
+     */
+    protected PickupField pickupField;
+
     /**
      * The ID of the level as loaded from the map file
      */
@@ -82,6 +85,24 @@ public class Map {
      */
     protected final Color wallColour = Color.BLUE;
 
+    /**
+     * The shortest routes between every pair of traversable positions on this map, calculated
+     * once when the map is loaded.
+     *
+     * @see #nextStep(int, int, int, int)
+     * @see #traceRoute(int, int, int, int)
+     */
+    protected final RouteTable routes;
+
+    /**
+     * The boundary of each wall on this map, keyed by {@code y * HORIZONTAL_GRID_COUNT + x}; positions that
+     * are not walls are null. Created once so that collision tests do not need to create a new boundary for
+     * every wall tested.
+     *
+     * @see #getWallBounds(int, int)
+     */
+    protected final Rectangle[] wallBounds;
+
     /**
      * Private constructor for the Map. Private as the only way this
      * class should be instantiated is via the static {@code loadFromFile} method.
@@ -94,6 +115,7 @@ public class Map {
         this.points = points;
         this.id = id;
         this.name = name;
+        this.routes = new RouteTable(points);
 
         try {
             scanMap();
@@ -101,6 +123,16 @@ public class Map {
             System.err.println("Map loading failed: " + e.getMessage() + ". Execution aborted!");
             System.exit(-1);
         }
+
+        this.wallBounds = new Rectangle[points.length];
+        int gridSize = PacmanGame.GRID_SIZE;
+        for(int i = 0; i < points.length; i++) {
+            if(points[i] == 0) {
+                int x = i % PacmanGame.HORIZONTAL_GRID_COUNT;
+                int y = i / PacmanGame.HORIZONTAL_GRID_COUNT;
+                wallBounds[i] = new Rectangle(x * gridSize, y * gridSize, gridSize, gridSize);
+            }
+        }
     }
 
     /**
@@ -114,6 +146,22 @@ public class Map {
         return x >= 0 && y >= 0 && x < PacmanGame.HORIZONTAL_GRID_COUNT && y < PacmanGame.VERTICAL_GRID_COUNT;
     }
 
+    /**
+     * Returns the boundary of the wall at the grid-based position provided. The same {@code Rectangle} is
+     * returned every time, and so must not be modified.
+     *
+     * @param x The grid-based X position
+     * @param y The grid-based Y position
+     * @return The boundary of the wall (in pixels), or null if there is no wall at this position
+     */
+    public Rectangle getWallBounds(int x, int y) {
+        if(isValidLocation(x, y)) {
+            return wallBounds[(y*PacmanGame.HORIZONTAL_GRID_COUNT) + x];
+        }
+
+        return null;
+    }
+
     /**
      * Tests if the position provided is a valid path position for the
      * path finding
@@ -131,19 +179,17 @@ public class Map {
     }
 
     /**
-     * Prepares the map for game play by scanning over the map and creating
-     * pickups based on the map specified.
+     * Prepares the map for game play by scanning over the map and placing
+     * pickups in a new {@code pickupField} based on the map specified.
      *
      * @param game The game instance the map belongs to
-     * @return An array of Pickups to be spawned before the map is played
+     * @return The pickup field to be played on
      */
-    public ArrayList<Pickup> prepareMap(PacmanGame game) {
-        int frameWidth = PacmanGame.HORIZONTAL_GRID_COUNT;
-        int gridSize = PacmanGame.GRID_SIZE;
-        ArrayList<Pickup> pointPickups = new ArrayList<>();
+    public PickupField prepareMap(PacmanGame game) {
+        PickupField field = new PickupField(game);
 
-        int playerLives = PacmanGame.getGameInstance().getPlayer().getLives();
-        Random r = game.generateRandom();
+        int playerLives = game.getPlayer().getLives();
+        SplittableRandom r = game.generateRandom();
         int amountOfFruit = Math.max(1, r.nextInt(5 - playerLives));
 
         ArrayList<Integer> fruitPoints = new ArrayList<>();
@@ -159,25 +205,32 @@ public class Map {
             }
         }
 
-        int y = 0;
         for(int i = 0; i < points.length; i++) {
-            if(i != 0 && i % frameWidth == 0) y+=gridSize;
-            int x = (i%frameWidth) * gridSize;
-
             if(points[i] == 3) {
                 // Large point pickup
-                pointPickups.add(new LargePointPickup(game, x, y));
+                field.placePoint(i, true);
             } else if(points[i] != 0) {
                 // Small pickup, OR, an extra lives pickup
                 if(fruitPoints.contains(i)) {
-                    pointPickups.add(new FruitPointPickup(game, x, y));
+                    field.placeFruit(i, game.generateRandom());
                 } else {
-                    pointPickups.add(new PointPickup(game, x, y));
+                    field.placePoint(i, false);
                 }
             }
         }
 
-        return pointPickups;
+        this.pickupField = field;
+        return field;
+    }
+
+    /**
+     * Returns the pickup field created the last time this map was prepared
+     *
+     * @return The pickup field, or null if the map has not been prepared
+     * @see #prepareMap(PacmanGame)
+     */
+    public PickupField getPickupField() {
+        return pickupField;
     }
 
 
@@ -240,8 +293,16 @@ public class Map {
      * @param game The PacmanGame instance the map is to be drawn to
      */
     public void draw(PacmanGame game) {
-        Graphics2D g = game.getGameGraphics();
+        draw(game.getGameGraphics());
+    }
 
+    /**
+     * Draw the map by iterating through the points stored in the map data, and drawing the game grid
+     * on to the graphics provided.
+     *
+     * @param g The graphics the map is to be drawn to
+     */
+    public void draw(Graphics2D g) {
         int frameWidth = PacmanGame.HORIZONTAL_GRID_COUNT;
         int gridSize = PacmanGame.GRID_SIZE;
 
@@ -392,6 +453,66 @@ public class Map {
         return seekLocation;
     }
 
+    /**
+     * Returns the direction to move in to take the first step along the shortest route between
+     * the two grid-based positions provided. The route is looked up from the precomputed {@code RouteTable},
+     * and does not account for the positions of any ghosts.
+     *
+     * @param fX The starting X position
+     * @param fY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @return The direction of the first step, or {@code NONE} if the positions are the same or no route exists
+     */
+    public Entity.DIRECTION nextStep(int fX, int fY, int tX, int tY) {
+        return routes.getNextDirection(fX, fY, tX, tY);
+    }
+
+    /**
+     * Returns the direction to move in to take the first step along the shortest route between
+     * the two grid-based points provided.
+     *
+     * @param from The grid-based starting point
+     * @param to The grid-based target point
+     * @return The direction of the first step, or {@code NONE} if the points are the same or no route exists
+     * @see #nextStep(int, int, int, int)
+     */
+    public Entity.DIRECTION nextStep(Point from, Point to) {
+        return nextStep(from.x, from.y, to.x, to.y);
+    }
+
+    /**
+     * Returns the amount of steps along the shortest route between the two grid-based positions provided
+     *
+     * @param fX The starting X position
+     * @param fY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @return The amount of steps, or {@code RouteTable.UNREACHABLE} if no route exists
+     */
+    public int getRouteDistance(int fX, int fY, int tX, int tY) {
+        return routes.getDistance(fX, fY, tX, tY);
+    }
+
+    /**
+     * Provides a {@code Path} following the shortest route between the two grid-based positions provided. The
+     * path is a {@code RoutePath}; each step is only found, by taking the next step towards the target, once it's
+     * requested. The first step of the path is the starting position.
+     *
+     * @param sX The starting X position
+     * @param sY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @return The path to the target, or null if no route exists
+     */
+    public Path traceRoute(int sX, int sY, int tX, int tY) {
+        if(getRouteDistance(sX, sY, tX, tY) == RouteTable.UNREACHABLE) {
+            return null;
+        }
+
+        return new RoutePath(this, sX, sY, tX, tY);
+    }
+
     /**
      * Provides the point that specifies the position that Pacman should be spawned at, pixel-based
      *
@@ -1,18 +1,23 @@
 package main;
 
 import controllers.*;
+import events.LevelCompleteEvent;
 import fragment.*;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.util.Random;
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
 
 /**
  * Base class for this pacman game; instantiates all core controllers, game engine, entity sprites and runs the main
  * render loop.
  *
- * Singleton class, fetch running instance using PacmanGame.getGameInstance();
+ * The windowed game is a singleton, fetch running instance using PacmanGame.getGameInstance(); any number of
+ * independent headless games can be created using PacmanGame.createHeadlessGame(). Every controller, entity and
+ * effect is given the game it belongs to when created.
  *
  * @author Harry Felton - 18032692
  */
@@ -48,6 +53,28 @@ public class PacmanGame extends CoreEngine {
      */
     public static final int    HEIGHT = GRID_SIZE * VERTICAL_GRID_COUNT;
 
+    /**
+     * The initial value of a state hash
+     *
+     * @see #getStateHash()
+     */
+    public static final long STATE_HASH_BASIS = 0xcbf29ce484222325L;
+
+    /**
+     * The histograms used to time each phase of an update tick and frame; only used when instrumentation is enabled
+     *
+     * @see Instrumentation
+     */
+    protected static final LatencyHistogram UPDATE_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.update");
+    protected static final LatencyHistogram ENTITY_UPDATE_HISTOGRAM = Instrumentation.getHistogram("EntityController.update");
+    protected static final LatencyHistogram EFFECT_UPDATE_HISTOGRAM = Instrumentation.getHistogram("EffectController.update");
+    protected static final LatencyHistogram UI_UPDATE_HISTOGRAM = Instrumentation.getHistogram("UIController.update");
+    protected static final LatencyHistogram PAINT_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.paintComponent");
+    protected static final LatencyHistogram MAP_PAINT_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.paintComponent.map");
+    protected static final LatencyHistogram ENTITY_PAINT_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.paintComponent.entities");
+    protected static final LatencyHistogram EFFECT_PAINT_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.paintComponent.effects");
+    protected static final LatencyHistogram UI_PAINT_HISTOGRAM = Instrumentation.getHistogram("PacmanGame.paintComponent.ui");
+
     /**
      * The possible game states
      */
@@ -78,9 +105,55 @@ public class PacmanGame extends CoreEngine {
     protected boolean paused = false;
 
     /**
-     * The random number generator
+     * Set when something has changed that isn't tracked by the dirty region (such as the game state or map), so the
+     * whole of the next frame must be drawn
+     *
+     * @see #collectDirtyRegion(DirtyRegion)
+     */
+    protected boolean fullRedrawRequested = true;
+
+    /**
+     * The random number generator; re-seeded at the start of every game so that the game can be replayed
+     *
+     * @see #generateRandom()
+     */
+    protected SplittableRandom randomGenerator;
+
+    /**
+     * Generates the seed used by each game; seeded using the {@code pacman.seed} system property if it is set
+     */
+    protected final SplittableRandom seedGenerator;
+
+    /**
+     * The seed used by the current game
+     */
+    protected long seed;
+
+    /**
+     * The amount of ticks that have passed since the current game started
+     */
+    protected int gameTick = 0;
+
+    /**
+     * The amount of game time (in nanoseconds) that has passed since the current game started; only advances
+     * while the game is being played, and isn't paused.
+     *
+     * @see #getGameTime()
+     */
+    protected long gameTime = 0;
+
+    /**
+     * The replay of the current game, recording the key presses received
+     *
+     * @see #getReplay()
      */
-    protected Random randomGenerator;
+    protected Replay replay;
+
+    /**
+     * The directory replays are saved to when each game ends; configurable via the {@code pacman.replayDir}
+     * system property. If not set, replays are not saved.
+     */
+    protected final String REPLAY_DIRECTORY = System.getProperty("pacman.replayDir");
 
     /**
      * The UIController to manage the fragments
@@ -152,6 +225,23 @@ public class PacmanGame extends CoreEngine {
      */
     protected GameFragment gameFragment;
 
+    /**
+     * The debug overlay showing how the game is performing; shown over every game state
+     *
+     * @see #togglePerformanceOverlay()
+     */
+    protected PerformanceFragment performanceFragment;
+
+    /**
+     * Represents whether or not the performance overlay is shown
+     */
+    protected boolean performanceOverlayVisible = false;
+
+    /**
+     * The key used to show/hide the performance overlay
+     */
+    public static final int PERFORMANCE_OVERLAY_KEY = KeyEvent.VK_F3;
+
     /**
      * The {@code SnakeGame} singleton instance
      *
@@ -190,17 +280,31 @@ public class PacmanGame extends CoreEngine {
      * Private constructor as this class is a singleton and can only be initialised
      * from inside this class
      *
+     * @param headless If true, the game is created without a window, sound, or a saved scoreboard
      * @see #getGameInstance()
+     * @see #createHeadlessGame()
      */
-    private PacmanGame() {
-        super(WIDTH, HEIGHT, WINDOW_TITLE);
+    private PacmanGame(boolean headless) {
+        super(WIDTH, HEIGHT, WINDOW_TITLE, headless);
+
+        Long fixedSeed = Long.getLong("pacman.seed");
+        seedGenerator = fixedSeed == null ? new SplittableRandom() : new SplittableRandom(fixedSeed);
+
+        if(headless) {
+            scoreSoundEffect = SoundEffect.createSilent();
+            fruitSoundEffect = SoundEffect.createSilent();
+            ghostDeathSoundEffect = SoundEffect.createSilent();
+            gameOverSoundEffect = SoundEffect.createSilent();
 
-        scoreSoundEffect = SoundEffect.loadSoundEffect("resources/score.wav");
-        fruitSoundEffect = SoundEffect.loadSoundEffect("resources/fruit.wav");
-        ghostDeathSoundEffect = SoundEffect.loadSoundEffect("resources/eatghost.wav");
-        gameOverSoundEffect = SoundEffect.loadSoundEffect("resources/gameover.wav");
+            scoreboard = Scoreboard.createInMemory();
+        } else {
+            scoreSoundEffect = SoundEffect.loadSoundEffect("resources/score.wav");
+            fruitSoundEffect = SoundEffect.loadSoundEffect("resources/fruit.wav");
+            ghostDeathSoundEffect = SoundEffect.loadSoundEffect("resources/eatghost.wav");
+            gameOverSoundEffect = SoundEffect.loadSoundEffect("resources/gameover.wav");
 
-        scoreboard = Scoreboard.loadScoreboard();
+            scoreboard = Scoreboard.loadScoreboard();
+        }
     }
 
     /**
@@ -247,6 +351,7 @@ public class PacmanGame extends CoreEngine {
         deathFragment = (DeathFragment)ui.registerFragment(new DeathFragment(this));
         gameFragment =  (GameFragment)ui.registerFragment(new GameFragment(this));
         pauseFragment = (PauseFragment)ui.registerFragment(new PauseFragment(this));
+        performanceFragment = (PerformanceFragment)ui.registerFragment(new PerformanceFragment(this));
 
         changeGameState(STATE.MENU);
     }
@@ -260,20 +365,37 @@ public class PacmanGame extends CoreEngine {
      */
     @Override
     public void update(double dt) {
+        long updateStart = Instrumentation.start();
+
+        // Entities that don't move this tick (e.g. because the game is paused) should not be interpolated
+        entity.storePreviousPositions();
+
         if(nextState != null) {
             changeGameState(nextState);
             nextState = null;
         }
 
-        if(paused)
+        if(paused && pauseFragment != null)
             pauseFragment.activate();
 
         if(gameState == STATE.GAME && !paused) {
+            gameTime += Math.round(dt * 1_000_000_000L);
+
+            long start = Instrumentation.start();
             entity.update(dt);
+            Instrumentation.stop(ENTITY_UPDATE_HISTOGRAM, start);
+
+            start = Instrumentation.start();
             fx.update(dt);
+            Instrumentation.stop(EFFECT_UPDATE_HISTOGRAM, start);
         }
 
+        long start = Instrumentation.start();
         ui.update(dt);
+        Instrumentation.stop(UI_UPDATE_HISTOGRAM, start);
+
+        gameTick++;
+        Instrumentation.stop(UPDATE_HISTOGRAM, updateStart);
     }
 
     /**
@@ -284,22 +406,57 @@ public class PacmanGame extends CoreEngine {
      */
     @Override
     public void paintComponent() {
+        if(HEADLESS) return;
+
         if( !isGraphicsInitialised ) {
             isGraphicsInitialised = true;
             graphicsReady();
         }
 
+        long paintStart = Instrumentation.start();
         engineGraphics.setBackground(black);
         engineGraphics.setColor(yellow);
         engineGraphics.clearRect(0, 0, WIDTH, HEIGHT);
 
         if(gameState == STATE.GAME) {
+            long start = Instrumentation.start();
             mapController.drawSelectedMap();
+            Instrumentation.stop(MAP_PAINT_HISTOGRAM, start);
+
+            start = Instrumentation.start();
             entity.redraw();
+            Instrumentation.stop(ENTITY_PAINT_HISTOGRAM, start);
+
+            start = Instrumentation.start();
             fx.redraw();
+            Instrumentation.stop(EFFECT_PAINT_HISTOGRAM, start);
         }
 
+        long start = Instrumentation.start();
         ui.redraw();
+        Instrumentation.stop(UI_PAINT_HISTOGRAM, start);
+
+        Instrumentation.stop(PAINT_HISTOGRAM, paintStart);
+    }
+
+    /**
+     * Collects the areas changed by the entities, effects and fragments since the last frame. Only the game itself
+     * is tracked; menus, the pause screen, and the frame after any game state or map change are drawn in full.
+     *
+     * @param region The region to add the changed areas to
+     * @return True if only the region needs to be drawn, false if the whole frame must be drawn
+     */
+    @Override
+    protected boolean collectDirtyRegion(DirtyRegion region) {
+        // Entities and effects always collect their area, so they know where they were last drawn
+        entity.addDirtyRegion(region);
+        fx.addDirtyRegion(region);
+        ui.addDirtyRegion(region);
+
+        boolean partial = gameState == STATE.GAME && !paused && !fullRedrawRequested;
+        fullRedrawRequested = false;
+
+        return partial;
     }
 
     /**
@@ -310,10 +467,36 @@ public class PacmanGame extends CoreEngine {
      */
     @Override
     public void keyPressed(KeyEvent event) {
-        if (event.getKeyCode() == KeyEvent.VK_ESCAPE && gameState == STATE.GAME) {
+        keyPressed(event.getKeyCode());
+    }
+
+    /**
+     * Dispatches the key code to the registered entities, unless the key was 'ESCAPE', in which case the game
+     * is (un)paused. Key presses that reach the entities are recorded in the replay of the current game.
+     *
+     * @param keyCode The key code of the key pressed
+     * @see #getReplay()
+     */
+    public void keyPressed(int keyCode) {
+        if (keyCode == PERFORMANCE_OVERLAY_KEY) {
+            // Purely visual, so not recorded in the replay
+            togglePerformanceOverlay();
+        } else if (keyCode == KeyEvent.VK_ESCAPE && gameState == STATE.GAME) {
             togglePause();
         } else if (!paused) {
-            entity.keyPressed(event);
+            recordKey(keyCode);
+            entity.keyPressed(keyCode);
+        }
+    }
+
+    /**
+     * Records the key code provided in the replay of the current game, if it's still being recorded
+     *
+     * @param keyCode The key code to record
+     */
+    protected void recordKey(int keyCode) {
+        if(replay != null && !replay.isFinished()) {
+            replay.record(gameTick, keyCode);
         }
     }
 
@@ -322,11 +505,29 @@ public class PacmanGame extends CoreEngine {
      * change in pause
      */
     public void togglePause() {
+        // Pausing changes how the game is simulated, so it's recorded as an 'ESCAPE' regardless of it's cause
+        recordKey(KeyEvent.VK_ESCAPE);
+
         paused = !paused;
         // Refresh fragment-based scenes
         changeGameState(gameState);
     }
 
+    /**
+     * Shows the performance overlay if it's hidden, or hides it if it's shown
+     */
+    public void togglePerformanceOverlay() {
+        performanceOverlayVisible = !performanceOverlayVisible;
+        fullRedrawRequested = true;
+        if(performanceFragment == null) return;
+
+        if(performanceOverlayVisible) {
+            performanceFragment.activate();
+        } else {
+            performanceFragment.deactivate();
+        }
+    }
+
     /**
      * Dispatches the MouseEvent to the UI controller
      *
@@ -365,15 +566,55 @@ public class PacmanGame extends CoreEngine {
      */
     public void changeGameState(STATE s) {
         ui.deactivateAllFragments();
-        if(s == STATE.MENU) {
+
+        // The fragments are only available once the graphics are ready; they never are when running headless
+        if(s == STATE.MENU && menuFragment != null) {
             menuFragment.activate();
-        } else if(s == STATE.DEATH) {
+        } else if(s == STATE.DEATH && deathFragment != null) {
             deathFragment.activate();
-        } else if(s == STATE.GAME) {
+        } else if(s == STATE.GAME && gameFragment != null) {
             gameFragment.activate();
         }
 
+        if(performanceOverlayVisible && performanceFragment != null) {
+            performanceFragment.activate();
+        }
+
+        if(gameState == STATE.GAME && s != STATE.GAME) {
+            finishReplay();
+        }
+
         gameState = s;
+        fullRedrawRequested = true;
+    }
+
+    /**
+     * Marks the end of the current games replay, and saves it to the {@code REPLAY_DIRECTORY} if one is set
+     */
+    protected void finishReplay() {
+        if(replay == null || replay.isFinished()) return;
+
+        replay.finish(gameTick, getStateHash());
+        if(REPLAY_DIRECTORY == null) return;
+
+        File file = new File(REPLAY_DIRECTORY, String.format("replay-%016x.pacr", replay.getSeed()));
+        try {
+            file.getParentFile().mkdirs();
+            replay.save(file);
+            System.out.println("Saved replay to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Failed to save replay to file.. " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the current game state
+     *
+     * @return The game state
+     */
+    public STATE getGameState() {
+        return gameState;
     }
 
     /**
@@ -404,11 +645,25 @@ public class PacmanGame extends CoreEngine {
      * ghosts and PacmanEntity.
      */
     public void levelComplete() {
+        LevelCompleteEvent event = new LevelCompleteEvent();
+        event.begin();
+
+        int completedMapId = mapController.getSelectedMap().getId();
         if(mapController.isNextMap()) {
             mapController.selectNextMap();
         }
 
         entity.initWithPlayer(player);
+        fullRedrawRequested = true;
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.completedMapId = completedMapId;
+            event.nextMapId = mapController.getSelectedMap().getId();
+            event.score = player.getScore();
+            event.gameTick = gameTick;
+            event.commit();
+        }
     }
 
     /**
@@ -425,6 +680,24 @@ public class PacmanGame extends CoreEngine {
      * player. Spawns the initial pickups, ghosts, and the player entity (Pacman).
      */
     public void startGame() {
+        startGame(seedGenerator.nextLong());
+    }
+
+    /**
+     * Start the game using the seed provided for the random number generator. Two games started with the same seed,
+     * that receive the same key presses on the same ticks, will play out identically.
+     *
+     * @param seed The seed for the random number generator
+     * @see #getReplay()
+     */
+    public void startGame(long seed) {
+        this.seed = seed;
+        this.randomGenerator = new SplittableRandom(seed);
+        this.gameTick = 0;
+        this.gameTime = 0;
+        this.paused = false;
+        this.replay = new Replay(seed, TICK_RATE);
+
         this.player = new Player();
         mapController.selectMap(1);
         entity.initWithPlayer(this.player);
@@ -444,21 +717,77 @@ public class PacmanGame extends CoreEngine {
      *
      * @return Returns the random number generator, creating one if one doesn't already exist
      */
-    public Random generateRandom() {
+    public SplittableRandom generateRandom() {
         if(randomGenerator == null)
-            randomGenerator = new Random();
+            randomGenerator = new SplittableRandom(seedGenerator.nextLong());
 
         return randomGenerator;
     }
 
     /**
-     * Generates a random point within the boundary of the game
+     * Returns the seed used by the current game
      *
-     * @return Returns the {@code Point} generated
+     * @return The seed
      */
-    public Point generateRandomPoint() {
-        Random r = generateRandom();
-        return new Point(r.nextInt(WIDTH), r.nextInt(HEIGHT));
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the amount of ticks that have passed since the current game started
+     *
+     * @return The amount of ticks
+     */
+    public int getGameTick() {
+        return gameTick;
+    }
+
+    /**
+     * Returns the amount of game time that has passed since the current game started. Game time only advances
+     * while the game is being played, and isn't paused; it should be used for any timing that affects the game,
+     * rather than the system clock, so that games can be replayed.
+     *
+     * @return The game time, in milliseconds
+     */
+    public long getGameTime() {
+        return gameTime / 1_000_000L;
+    }
+
+    /**
+     * Calculates a hash of the current state of the game; the players score and lives, and the position and
+     * direction of every entity. Used to check that a replayed game played out the same as the original.
+     *
+     * @return The hash of the game state
+     */
+    public long getStateHash() {
+        long hash = entity.getStateHash();
+        if(player != null) {
+            hash = mixStateHash(hash, player.getScore());
+            hash = mixStateHash(hash, player.getLives());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Mixes the value provided in to a state hash (using FNV-1a)
+     *
+     * @param hash The hash so far
+     * @param value The value to mix in to the hash
+     * @return The new hash
+     * @see #getStateHash()
+     */
+    public static long mixStateHash(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    /**
+     * Returns the replay of the current (or last) game
+     *
+     * @return The replay, or null if no game has been started
+     */
+    public Replay getReplay() {
+        return replay;
     }
 
     /**
@@ -469,7 +798,7 @@ public class PacmanGame extends CoreEngine {
     public static PacmanGame getGameInstance() {
         // No game? No problem. Create a game instance and store it inside our protected static var.
         if( gameInstance == null ) {
-            gameInstance = new PacmanGame();
+            gameInstance = new PacmanGame(false);
             gameInstance.engineStart();
         }
 
@@ -477,6 +806,27 @@ public class PacmanGame extends CoreEngine {
         return gameInstance;
     }
 
+    /**
+     * Creates a headless game; one without a window, sound, or a saved scoreboard. The game is not started, and
+     * must be updated by the caller (see {@code HeadlessSimulation}).
+     *
+     * Each headless game is independent of every other game, so many may be simulated at once on different threads.
+     *
+     * @return Returns the new headless game
+     */
+    public static PacmanGame createHeadlessGame() {
+        return new PacmanGame(true);
+    }
+
+    /**
+     * Tests if this game is running headless
+     *
+     * @return True if the game has no window, sound, or saved scoreboard
+     */
+    public boolean isHeadless() {
+        return HEADLESS;
+    }
+
     /**
      * Fetch the game graphics from the underlying game engine
      *
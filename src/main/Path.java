@@ -7,6 +7,9 @@ import java.util.ArrayList;
  * This class is used to encapsulate the path that an entity must take to reach its destination.
  * Generated by {@code PathFinder} and usually used by {@code GhostEntity}.
  *
+ * Steps are always read through {@code getStep} and {@code getStepCount}, so that a subclass may provide
+ * its steps some other way.
+ *
  * @author Harry Felton
  */
 public class Path {
@@ -62,7 +65,7 @@ public class Path {
      * @return True if there is a next stop, false otherwise
      */
     public boolean hasNextStep() {
-        return (currentStep + 1) < steps.size();
+        return (currentStep + 1) < getStepCount();
     }
 
     /**
@@ -1,10 +1,10 @@
 package main;
 
 import entity.ghost.GhostEntity;
-import exception.InvalidPathFindingException;
+import events.PathFindingEvent;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * The PathFinder is responsible for calculating the path that a ghost
@@ -14,43 +14,98 @@ import java.util.Collections;
  * This controller mainly serves as a way for the pathfinding algorithms to test
  * if a particular path is blocked, or to determine the cost of a particular path.
  *
+ * Where the shortest route provided by the map is not blocked by any ghosts, that route is
+ * used directly; a search is only performed when ghosts raise the cost of the shortest route.
+ *
  * @author Harry Felton - 18032692
  */
 public class PathFinder {
+    /**
+     * The movement cost of a grid position occupied by a ghost
+     */
+    public static final int GHOST_OCCUPIED_COST = 10;
+
     /**
      * The PacmanGame instance this path finder is working on.
      */
     protected final PacmanGame gameInstance;
 
     /**
-     * The maximum amount of steps that will be evaluated before we give up.
+     * The nodes of the map, one per grid square. These nodes are allocated once, and are
+     * reset lazily (when first touched by a new calculation) by comparing their generation stamp.
+     *
+     * @see #getNode(int, int)
      */
-    protected final int maxDepth;
-
     protected final Node[][] nodes;
 
     protected final Map targetMap;
 
-    private final ArrayList<Node> closedNodes = new ArrayList<>();
+    /**
+     * The generation of the path calculation currently running. Incremented at the start of each
+     * calculation, meaning any state stamped with an older generation is considered stale.
+     */
+    private int generation = 0;
+
+    /**
+     * The amount of paths that have been requested from this PathFinder
+     *
+     * @see #getCalculationCount()
+     */
+    private long calculationCount = 0;
+
+    /**
+     * The amount of nodes expanded by the last search, and whether or not it used a precomputed route;
+     * reported by the {@code PathFindingEvent}
+     */
+    private int expandedNodeCount = 0;
+    private boolean usedPrecomputedRoute = false;
+
+    /**
+     * The nodes that have already been expanded, keyed by {@code y * HORIZONTAL_GRID_COUNT + x}. A node is
+     * closed only if its entry matches the current {@code generation}.
+     *
+     * @see #getNodeIndex(int, int)
+     */
+    private final int[] closedNodes;
+
+    /**
+     * The grid positions occupied by a ghost, keyed the same as {@code closedNodes}. A position is
+     * occupied only if its entry matches the current {@code generation}.
+     *
+     * @see #getPathCost(int, int)
+     */
+    private final int[] ghostOccupiedNodes;
+
+    /**
+     * The nodes that are waiting to be expanded, stored as a binary min-heap ordered by the
+     * combined cost of the node, and then by the order in which the nodes were opened.
+     *
+     * @see Node#compareTo(Node)
+     */
+    private final Node[] openNodes;
 
-    private final ArrayList<Node> openNodes = new ArrayList<>();
+    /**
+     * The amount of nodes currently inside the {@code openNodes} heap
+     */
+    private int openNodeCount = 0;
 
-    private final ArrayList<GhostEntity> ghosts;
+    /**
+     * Incremented every time a node is opened; used to break ties between nodes of equal cost so
+     * that the nodes opened first are expanded first.
+     */
+    private int openSequence = 0;
 
     /**
-     * The PathFinder constructor
+     * The PathFinder constructor. A PathFinder is bound to a single map, and is re-used for
+     * every path calculated on that map.
      *
      * @param g The PacmanGame instance the controller belongs to
-     * @param maxDepth The maximum depth that the path finding will search
-     * @throws InvalidPathFindingException Thrown if no map is currently selected
+     * @param targetMap The map that paths will be calculated on
+     * @see controllers.MapController#getPathFinder()
      */
-    public PathFinder(PacmanGame g, int maxDepth) throws InvalidPathFindingException {
+    public PathFinder(PacmanGame g, Map targetMap) {
         this.gameInstance = g;
-        this.maxDepth = maxDepth;
-        this.targetMap = g.getMapController().getSelectedMap();
-        if(this.targetMap == null) {
-            throw new InvalidPathFindingException("Cannot instantiate PathFinder instance as no map is currently selected");
-        }
+        this.targetMap = targetMap;
 
         // Initialise our nodes based on this map.
         int[] points = this.targetMap.getPoints();
@@ -68,29 +123,85 @@ public class PathFinder {
             }
         }
 
-        ghosts = g.getEntityController().getGhosts();
+        this.closedNodes = new int[points.length];
+        this.ghostOccupiedNodes = new int[points.length];
+        this.openNodes = new Node[points.length];
+    }
+
+    /**
+     * Returns the amount of paths that have been requested from this PathFinder
+     *
+     * @return The amount of calls to {@code calculatePath}
+     */
+    public long getCalculationCount() {
+        return calculationCount;
     }
 
     /**
      * Returns the movement cost for a particular path. If a ghost is occupying this grid
-     * position, it's cost is raised to 5; otherwise a cost of 1 applies.
+     * position, it's cost is raised to {@code GHOST_OCCUPIED_COST}; otherwise a cost of 1 applies.
      *
      * @param x The X position of the path (grid relative)
      * @param y The Y position of the path (grid relative)
      * @return Returns the movement cost of this path
+     * @see #markGhostPositions()
      */
     private float getPathCost(int x, int y) {
+        return ghostOccupiedNodes[getNodeIndex(x, y)] == generation ? GHOST_OCCUPIED_COST : 1;
+    }
+
+    /**
+     * Marks the grid positions currently occupied by ghosts for the current generation, so that
+     * the cost of a path can be found without searching through every ghost.
+     */
+    private void markGhostPositions() {
         int gridSize = PacmanGame.GRID_SIZE;
-        for(GhostEntity ghost : ghosts) {
+        List<GhostEntity> ghosts = gameInstance.getEntityController().getGhosts();
+
+        // Indexed rather than iterated, so that no iterator is created per request
+        for(int i = 0; i < ghosts.size(); i++) {
+            GhostEntity ghost = ghosts.get(i);
             int ghostX = ghost.getX() / gridSize;
             int ghostY = ghost.getY() / gridSize;
 
-            if(ghostX == x && ghostY == y) {
-                return 10;
+            if(targetMap.isValidLocation(ghostX, ghostY)) {
+                ghostOccupiedNodes[getNodeIndex(ghostX, ghostY)] = generation;
             }
         }
+    }
+
+    /**
+     * Starts a new path calculation by advancing the generation, which invalidates the state left
+     * behind by the previous calculation without having to visit each node.
+     */
+    private void beginCalculation() {
+        generation++;
+        if(generation == 0) {
+            // The generation has wrapped around; clear out the stamps so stale state can't be mistaken as current
+            Arrays.fill(closedNodes, 0);
+            Arrays.fill(ghostOccupiedNodes, 0);
+            generation = 1;
+        }
 
-        return 1;
+        openNodeCount = 0;
+        markGhostPositions();
+    }
+
+    /**
+     * Fetches the node at the grid position provided, resetting its state if it was last used
+     * by a previous calculation.
+     *
+     * @param x The X position of the node (grid relative)
+     * @param y The Y position of the node (grid relative)
+     * @return The node, ready for use by the current calculation
+     */
+    private Node getNode(int x, int y) {
+        Node n = nodes[x][y];
+        if(n.generation != generation) {
+            n.reset(generation);
+        }
+
+        return n;
     }
 
     /**
@@ -118,36 +229,82 @@ public class PathFinder {
      * @param sY The starting Y position
      * @param tX The target X position
      * @param tY The target Y position
+     * @param maxDepth The maximum depth that the path finding will search
      * @return Returns the path details stored inside a Path object.
      */
-    public Path calculatePath(int sX, int sY, int tX, int tY) {
-        // Clear our lists of processed nodes
-        closedNodes.clear();
-        openNodes.clear();
+    public Path calculatePath(int sX, int sY, int tX, int tY, int maxDepth) {
+        calculationCount++;
+
+        PathFindingEvent event = new PathFindingEvent();
+        event.begin();
+
+        Path path = searchPath(sX, sY, tX, tY, maxDepth);
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.startX = sX;
+            event.startY = sY;
+            event.targetX = tX;
+            event.targetY = tY;
+            event.maxDepth = maxDepth;
+            event.nodesExpanded = expandedNodeCount;
+            event.precomputedRoute = usedPrecomputedRoute;
+            event.success = path != null;
+            event.depth = path == null ? 0 : path.getStepCount() - 1;
+            event.commit();
+        }
+
+        return path;
+    }
+
+    /**
+     * Searches for a path between the positions provided; see {@code calculatePath}.
+     *
+     * @param sX The starting X position
+     * @param sY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @param maxDepth The maximum depth that the path finding will search
+     * @return Returns the path details stored inside a Path object, or null if no path was found.
+     */
+    private Path searchPath(int sX, int sY, int tX, int tY, int maxDepth) {
+        // Discard the state of any previous calculation
+        beginCalculation();
+        expandedNodeCount = 0;
+        usedPrecomputedRoute = false;
 
         // If the destination is not a path, then no path to it can be calculated
         if(!targetMap.isPath(tX, tY)) {
             return null;
         }
 
+        // If no ghost is standing on the shortest route, then no cheaper path can exist; use the
+        // route provided by the map instead of searching for one. Each step of the route is only found once followed.
+        if(isRouteUsable(sX, sY, tX, tY, maxDepth)) {
+            usedPrecomputedRoute = true;
+            return targetMap.traceRoute(sX, sY, tX, tY);
+        }
+
         // Initialise our starting nodes
-        nodes[sX][sY].cost = 0;
-        nodes[sX][sY].depth = 0;
+        final Node startingNode = getNode(sX, sY);
+        final Node targetNode = getNode(tX, tY);
+        startingNode.cost = 0;
+        startingNode.depth = 0;
 
-        addToOpenNodes(nodes[sX][sY]);
-        nodes[tX][tY].parent = null; // Likely not needed.
+        addToOpenNodes(startingNode);
 
         int depth = 0;
-        while((depth < this.maxDepth) && (openNodes.size() > 0)) {
+        while((depth < maxDepth) && (openNodeCount > 0)) {
             // Keep checking for a path as long as we have options left, and we have not hit our maximum depth.
-            Node current = openNodes.get(0);
-            if(current.equals(nodes[tX][tY])) {
+            Node current = openNodes[0];
+            if(current.equals(targetNode)) {
                 // Found target
                 break;
             }
 
-            openNodes.remove(current);
-            closedNodes.add(current);
+            removeFromOpenNodes(current);
+            closedNodes[getNodeIndex(current.x, current.y)] = generation;
+            expandedNodeCount++;
 
             // Search neighbours by checking one to left, above, right, below.
             for(int scanX = -1; scanX < 2; scanX++) {
@@ -162,16 +319,17 @@ public class PathFinder {
 
                     if(targetMap.isPath(neighbourX, neighbourY)) {
                         float neighbourCost = current.cost + getPathCost(neighbourX, neighbourY);
-                        Node neighbour = nodes[neighbourX][neighbourY];
+                        Node neighbour = getNode(neighbourX, neighbourY);
+                        int neighbourIndex = getNodeIndex(neighbourX, neighbourY);
 
-                        if(neighbourCost < neighbour.cost) {
+                        boolean isCheaperPath = neighbourCost < neighbour.cost;
+                        if(isCheaperPath) {
                             // The previously calculated cost to this neighbour is wrong; we've found
                             // a better path to this node.
-                            openNodes.remove(neighbour);
-                            closedNodes.remove(neighbour);
+                            closedNodes[neighbourIndex] = 0;
                         }
 
-                        if(!(openNodes.contains(neighbour) || closedNodes.contains(neighbour))) {
+                        if(isCheaperPath || (neighbour.heapIndex == -1 && closedNodes[neighbourIndex] != generation)) {
                             neighbour.cost = neighbourCost;
                             neighbour.heuristic = getHeuristicCost(sX, sY, neighbourX, neighbourY);
                             depth = Math.max(depth, neighbour.setParentNode(current));
@@ -182,18 +340,17 @@ public class PathFinder {
             }
         }
 
-        if(nodes[tX][tY].parent == null) {
+        if(targetNode.parent == null) {
             // No node found it's way to the target. Max depth was reached, or no path exists.
             return null;
         }
 
         Path p = new Path();
-        Node targetNode = nodes[tX][tY];
-        final Node startingNode = nodes[sX][sY];
-        while(!targetNode.equals(startingNode)) {
-            p.addStep(targetNode.x, targetNode.y);
+        Node stepNode = targetNode;
+        while(!stepNode.equals(startingNode)) {
+            p.addStep(stepNode.x, stepNode.y);
 
-            targetNode = targetNode.parent;
+            stepNode = stepNode.parent;
         }
         p.addStep(sX, sY);
 
@@ -201,15 +358,145 @@ public class PathFinder {
     }
 
     /**
-     * Adds a given node to the list of open nodes and resorts the collection. The
-     * Node inner class implements Comparable, allowing this sorting to sort based
-     * on the cost of a particular node as calculated currently.
+     * Tests if the precomputed route between the positions provided can be used in place of a search. The route
+     * must exist, must lead somewhere (the ghost is not already standing on the target), must not exceed the depth
+     * of the search, and must not pass through a position occupied by a ghost as this would raise the cost of the
+     * route. The route is walked using {@code Map.nextStep}, without being built.
      *
-     * @param n The node to add to the open node list.
+     * @param sX The starting X position
+     * @param sY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @param maxDepth The maximum depth that the path finding would search
+     * @return True if the route can be used as-is, false if a search is required
+     */
+    private boolean isRouteUsable(int sX, int sY, int tX, int tY, int maxDepth) {
+        int steps = targetMap.getRouteDistance(sX, sY, tX, tY);
+        if(steps == RouteTable.UNREACHABLE || steps < 1 || steps > maxDepth) {
+            return false;
+        }
+
+        int x = sX;
+        int y = sY;
+        for(int i = 0; i < steps; i++) {
+            switch(targetMap.nextStep(x, y, tX, tY)) {
+                case LEFT -> x--;
+                case RIGHT -> x++;
+                case UP -> y--;
+                case DOWN -> y++;
+            }
+
+            if(getPathCost(x, y) != 1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts a grid-based position in to the index used by the {@code closedNodes} set
+     *
+     * @param x The X position of the node (grid relative)
+     * @param y The Y position of the node (grid relative)
+     * @return The index of the node
+     */
+    private int getNodeIndex(int x, int y) {
+        return (y * PacmanGame.HORIZONTAL_GRID_COUNT) + x;
+    }
+
+    /**
+     * Adds a given node to the heap of open nodes. If the node is already open (meaning a cheaper
+     * path to it has been found), the node is moved up the heap to reflect its new cost instead.
+     *
+     * The node is treated as the most recently opened node, meaning it will be expanded after any other
+     * open nodes of the same cost.
+     *
+     * @param n The node to add to the open node heap.
      */
     private void addToOpenNodes(Node n) {
-        openNodes.add(n);
-        Collections.sort(openNodes);
+        n.openOrder = openSequence++;
+        if(n.heapIndex == -1) {
+            n.heapIndex = openNodeCount;
+            openNodes[openNodeCount++] = n;
+        }
+
+        siftUp(n.heapIndex);
+    }
+
+    /**
+     * Removes the node provided from the heap of open nodes
+     *
+     * @param n The node to remove
+     */
+    private void removeFromOpenNodes(Node n) {
+        int index = n.heapIndex;
+        n.heapIndex = -1;
+
+        Node last = openNodes[--openNodeCount];
+        openNodes[openNodeCount] = null;
+        if(index == openNodeCount) {
+            return;
+        }
+
+        openNodes[index] = last;
+        last.heapIndex = index;
+        siftDown(index);
+        siftUp(last.heapIndex);
+    }
+
+    /**
+     * Moves the node at the index provided up the heap until its parent is cheaper than it
+     *
+     * @param index The heap index of the node to move
+     */
+    private void siftUp(int index) {
+        Node n = openNodes[index];
+        while(index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            Node parent = openNodes[parentIndex];
+            if(n.compareTo(parent) >= 0) {
+                break;
+            }
+
+            openNodes[index] = parent;
+            parent.heapIndex = index;
+            index = parentIndex;
+        }
+
+        openNodes[index] = n;
+        n.heapIndex = index;
+    }
+
+    /**
+     * Moves the node at the index provided down the heap until both of its children are more expensive than it
+     *
+     * @param index The heap index of the node to move
+     */
+    private void siftDown(int index) {
+        Node n = openNodes[index];
+        while(true) {
+            int childIndex = (index << 1) + 1;
+            if(childIndex >= openNodeCount) {
+                break;
+            }
+
+            if(childIndex + 1 < openNodeCount && openNodes[childIndex + 1].compareTo(openNodes[childIndex]) < 0) {
+                childIndex++;
+            }
+
+            Node child = openNodes[childIndex];
+            if(n.compareTo(child) <= 0) {
+                break;
+            }
+
+            openNodes[index] = child;
+            child.heapIndex = index;
+            index = childIndex;
+        }
+
+        openNodes[index] = n;
+        n.heapIndex = index;
     }
 
     /**
@@ -256,6 +543,23 @@ public class PathFinder {
          */
         private Node parent;
 
+        /**
+         * The position of this node inside the open node heap, or -1 if the node is not open
+         */
+        private int heapIndex = -1;
+
+        /**
+         * The order in which this node was (last) opened; used to break ties between nodes of equal cost
+         */
+        private int openOrder;
+
+        /**
+         * The generation of the calculation that last used this node
+         *
+         * @see #generation
+         */
+        private int generation;
+
         /**
          * Node constructor simply sets the X and Y position of the node to the arguments provided
          *
@@ -267,6 +571,20 @@ public class PathFinder {
             this.y = y;
         }
 
+        /**
+         * Resets the state of this node so it can be used by a new calculation
+         *
+         * @param generation The generation of the calculation about to use this node
+         */
+        protected void reset(int generation) {
+            this.generation = generation;
+            this.cost = 0;
+            this.heuristic = 0;
+            this.depth = 0;
+            this.parent = null;
+            this.heapIndex = -1;
+        }
+
         /**
          * Sets the parent of this node to the node provided, and returns the current
          * depth of this nodes pathfinding.
@@ -282,8 +600,9 @@ public class PathFinder {
         }
 
         /**
-         * A comparing function used by {@code Collections.sort}. Sorts the
-         * nodes based on their cost (combined heuristic and movement cost)
+         * A comparing function used by the open node heap. Sorts the
+         * nodes based on their cost (combined heuristic and movement cost), and then
+         * by the order in which they were opened.
          *
          * @param b The node being compared against this one
          * @return Returns an integer representing the sort result. 0 = no change, -1 sort down, 1 sort up.
@@ -297,7 +616,7 @@ public class PathFinder {
             } else if (f > of) {
                 return 1;
             } else {
-                return 0;
+                return Integer.compare(openOrder, b.openOrder);
             }
         }
     }
@@ -0,0 +1,349 @@
+package main;
+
+import controllers.EffectController;
+import controllers.SpriteController;
+import effects.TextFadeEffect;
+import entity.PacmanEntity;
+import ui.Text;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+
+/**
+ * The PickupField holds the point and fruit pickups placed on a map. Rather than creating an entity for every
+ * pickup, the field stores a single byte per grid position describing the pickup there (if any), so collecting a
+ * pickup only requires looking up the few grid positions overlapped by Pacman.
+ *
+ * A new field is created by the selected {@code Map} each time a level is started. The {@code MapController} draws
+ * the field once in to a cached layer, and then only clears the grid positions of pickups collected since.
+ *
+ * @author Harry Felton - 18032692
+ * @see Map#prepareMap(PacmanGame)
+ */
+public class PickupField {
+    /**
+     * The grid position holds no pickup
+     */
+    public static final byte EMPTY = 0;
+
+    /**
+     * The grid position holds a point pickup; a small dot worth {@code POINT_SCORE}
+     */
+    public static final byte POINT = 1;
+
+    /**
+     * The grid position holds a large point pickup; a large dot worth {@code LARGE_POINT_SCORE}
+     */
+    public static final byte LARGE_POINT = 2;
+
+    /**
+     * The grid position holds a fruit pickup; worth {@code FRUIT_SCORE}, and makes Pacman invulnerable for
+     * {@code INVULNERABILITY_DURATION}. Fruit are stored as {@code FRUIT + spriteIndex}, so any value at or above
+     * this is a fruit.
+     */
+    public static final byte FRUIT = 3;
+
+    /**
+     * The amount of time (in milliseconds) Pacman is invulnerable for after collecting a fruit pickup
+     */
+    public static final int INVULNERABILITY_DURATION = 3000;
+
+    protected static final int POINT_SCORE = 100;
+    protected static final int LARGE_POINT_SCORE = 1000;
+    protected static final int FRUIT_SCORE = 500;
+
+    /**
+     * The size (in pixels) of the point pickups collision box, anchored to the top left of it's grid position.
+     * Fruit pickups cover the entire grid position.
+     */
+    protected static final int POINT_SIZE = 8;
+
+    protected static final int POINT_RADIUS = 2;
+    protected static final int LARGE_POINT_RADIUS = 4;
+
+    protected static final int[][] FRUIT_SPRITES = {{32,48}, {48,48}, {64,48}, {80,48}, {96, 48}, {112, 48}};
+
+    /**
+     * The game this field belongs to
+     */
+    protected final PacmanGame gameInstance;
+
+    /**
+     * The pickup at each grid position, keyed by {@code y * HORIZONTAL_GRID_COUNT + x}
+     */
+    protected final byte[] pickups;
+
+    /**
+     * The sprite drawn for each fruit, by sprite index
+     */
+    protected final BufferedImage[] fruitSprites;
+
+    /**
+     * The amount of point pickups (large and small) remaining; fruit aren't required to complete a level, so aren't
+     * counted.
+     */
+    protected int pointPickupCount = 0;
+
+    /**
+     * The grid positions of the pickups collected since the field was last drawn; as each position can only be
+     * collected once, there's room for every position.
+     *
+     * @see #clearCollected(Graphics2D)
+     */
+    protected final int[] collected;
+    protected int collectedCount = 0;
+
+    /**
+     * The small and large point pickups, pre-rendered so that drawing a point doesn't require filling a shape.
+     * Created when first drawn.
+     */
+    protected BufferedImage pointSprite;
+    protected BufferedImage largePointSprite;
+
+    /**
+     * Constructs an empty field
+     *
+     * @param game The game this field belongs to
+     */
+    public PickupField(PacmanGame game) {
+        this.gameInstance = game;
+        this.pickups = new byte[PacmanGame.HORIZONTAL_GRID_COUNT * PacmanGame.VERTICAL_GRID_COUNT];
+        this.collected = new int[pickups.length];
+
+        SpriteController spriteController = game.getSpriteController();
+        this.fruitSprites = spriteController.getSprites(FRUIT_SPRITES, 16, 16);
+    }
+
+    /**
+     * Places a point pickup at the grid position provided
+     *
+     * @param index The grid position, {@code y * HORIZONTAL_GRID_COUNT + x}
+     * @param large If true, a large point pickup is placed
+     */
+    public void placePoint(int index, boolean large) {
+        if(!isPoint(pickups[index])) pointPickupCount++;
+
+        pickups[index] = large ? LARGE_POINT : POINT;
+    }
+
+    /**
+     * Places a fruit pickup at the grid position provided, using a random fruit sprite
+     *
+     * @param index The grid position, {@code y * HORIZONTAL_GRID_COUNT + x}
+     * @param r The random number generator used to select the fruit sprite
+     */
+    public void placeFruit(int index, SplittableRandom r) {
+        if(isPoint(pickups[index])) pointPickupCount--;
+
+        pickups[index] = (byte) (FRUIT + r.nextInt(FRUIT_SPRITES.length));
+    }
+
+    /**
+     * Collects every pickup intersecting the collision box of the Pacman provided, applying the effect of each to
+     * the Pacman. Only the grid positions overlapped by the collision box are tested, in order.
+     *
+     * @param pacman The Pacman collecting the pickups
+     * @param collisionBox The collision box of the Pacman
+     */
+    public void collect(PacmanEntity pacman, Rectangle collisionBox) {
+        int gridSize = PacmanGame.GRID_SIZE;
+        int minX = Math.max(0, Math.floorDiv(collisionBox.x, gridSize));
+        int minY = Math.max(0, Math.floorDiv(collisionBox.y, gridSize));
+        int maxX = Math.min(PacmanGame.HORIZONTAL_GRID_COUNT - 1, Math.floorDiv(collisionBox.x + collisionBox.width - 1, gridSize));
+        int maxY = Math.min(PacmanGame.VERTICAL_GRID_COUNT - 1, Math.floorDiv(collisionBox.y + collisionBox.height - 1, gridSize));
+
+        for(int y = minY; y <= maxY; y++) {
+            for(int x = minX; x <= maxX; x++) {
+                int index = (y * PacmanGame.HORIZONTAL_GRID_COUNT) + x;
+                byte pickup = pickups[index];
+                if(pickup == EMPTY) continue;
+
+                int size = pickup >= FRUIT ? gridSize : POINT_SIZE;
+                int pickupX = x * gridSize;
+                int pickupY = y * gridSize;
+                if(collisionBox.x < pickupX + size && pickupX < collisionBox.x + collisionBox.width
+                        && collisionBox.y < pickupY + size && pickupY < collisionBox.y + collisionBox.height) {
+                    pickups[index] = EMPTY;
+                    collected[collectedCount++] = index;
+                    applyEffect(pacman, pickup, pickupX, pickupY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the effect of the pickup provided to the Pacman; increasing the players score, spawning a text effect
+     * showing the score gained and playing the score sound effect. Fruit pickups also make the Pacman invulnerable.
+     *
+     * @param pacman The Pacman that collected the pickup
+     * @param pickup The type of the pickup collected
+     * @param x The X position of the pickup
+     * @param y The Y position of the pickup
+     */
+    protected void applyEffect(PacmanEntity pacman, byte pickup, int x, int y) {
+        int score;
+        int textSize;
+        if(pickup >= FRUIT) {
+            score = FRUIT_SCORE;
+            textSize = 10 + (FRUIT_SCORE / 100);
+
+            pacman.makeInvulnerable(INVULNERABILITY_DURATION);
+            gameInstance.fruitSoundEffect.playOnce(gameInstance.SOUND_EFFECT_VOLUME);
+        } else {
+            score = pickup == LARGE_POINT ? LARGE_POINT_SCORE : POINT_SCORE;
+            textSize = 10 + (score / 500);
+            pointPickupCount--;
+        }
+
+        pacman.getPlayer().increaseScore(score);
+
+        EffectController fx = gameInstance.getEffectsController();
+        fx.spawnEffect(new TextFadeEffect(gameInstance, x, y, new Text("+" + score).setSize(textSize), Color.YELLOW, 10));
+
+        gameInstance.playScoreSoundEffect();
+    }
+
+    /**
+     * Draws every pickup remaining in the field, and forgets the pickups collected since the field was last drawn
+     *
+     * @param g The graphics to draw with
+     */
+    public void draw(Graphics2D g) {
+        collectedCount = 0;
+
+        if(pointSprite == null) {
+            pointSprite = createPointSprite(POINT_RADIUS);
+            largePointSprite = createPointSprite(LARGE_POINT_RADIUS);
+        }
+
+        int gridSize = PacmanGame.GRID_SIZE;
+        for(int i = 0; i < pickups.length; i++) {
+            byte pickup = pickups[i];
+            if(pickup == EMPTY) continue;
+
+            BufferedImage sprite = switch(pickup) {
+                case POINT -> pointSprite;
+                case LARGE_POINT -> largePointSprite;
+                default -> fruitSprites[pickup - FRUIT];
+            };
+
+            g.drawImage(sprite, (i % PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, (i / PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, null);
+        }
+    }
+
+    /**
+     * Clears the grid position of every pickup collected since the field was last drawn (or cleared), so that an
+     * image the field was drawn in to can be brought up to date without drawing it again.
+     *
+     * @param g The graphics of the image to clear the pickups from
+     */
+    public void clearCollected(Graphics2D g) {
+        if(collectedCount == 0) return;
+
+        int gridSize = PacmanGame.GRID_SIZE;
+        Composite composite = g.getComposite();
+        g.setComposite(AlphaComposite.Clear);
+        for(int i = 0; i < collectedCount; i++) {
+            int index = collected[i];
+            g.fillRect((index % PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, (index / PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, gridSize, gridSize);
+        }
+        g.setComposite(composite);
+
+        collectedCount = 0;
+    }
+
+    /**
+     * Adds the grid position of every pickup collected since the field was last drawn (or cleared) to the region
+     * provided
+     *
+     * @param region The region to add to
+     */
+    public void addDirtyRegion(DirtyRegion region) {
+        int gridSize = PacmanGame.GRID_SIZE;
+        for(int i = 0; i < collectedCount; i++) {
+            int index = collected[i];
+            region.add((index % PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, (index / PacmanGame.HORIZONTAL_GRID_COUNT) * gridSize, gridSize, gridSize);
+        }
+    }
+
+    /**
+     * Tests if any pickups have been collected since the field was last drawn (or cleared)
+     *
+     * @return True if pickups have been collected
+     */
+    public boolean hasCollected() {
+        return collectedCount > 0;
+    }
+
+    /**
+     * Renders a point pickup, centered in an image the size of a grid position
+     *
+     * @param radius The radius of the point
+     * @return The image of the point
+     */
+    private static BufferedImage createPointSprite(int radius) {
+        BufferedImage sprite = new BufferedImage(PacmanGame.GRID_SIZE, PacmanGame.GRID_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.ORANGE);
+
+            final int diff = (PacmanGame.GRID_SIZE / 2) - radius;
+            g.fill(new Ellipse2D.Double(diff, diff, radius * 2, radius * 2));
+        } finally {
+            g.dispose();
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Returns the pickup at the grid position provided
+     *
+     * @param index The grid position, {@code y * HORIZONTAL_GRID_COUNT + x}
+     * @return The type of the pickup; {@code EMPTY}, {@code POINT}, {@code LARGE_POINT}, or a fruit (any value at or
+     *         above {@code FRUIT})
+     */
+    public byte getPickup(int index) {
+        return pickups[index];
+    }
+
+    /**
+     * Returns the amount of point pickups (dots) remaining; once there are none left, the level is complete
+     *
+     * @return The amount of point pickups remaining
+     */
+    public int getRemainingPointPickups() {
+        return pointPickupCount;
+    }
+
+    /**
+     * Mixes the position and type of every pickup remaining in to the state hash provided
+     *
+     * @param hash The state hash to mix in to
+     * @return The new state hash
+     * @see PacmanGame#getStateHash()
+     */
+    public long mixStateHash(long hash) {
+        for(int i = 0; i < pickups.length; i++) {
+            if(pickups[i] == EMPTY) continue;
+
+            hash = PacmanGame.mixStateHash(hash, i);
+            hash = PacmanGame.mixStateHash(hash, pickups[i]);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Tests if the pickup provided is a point pickup (large or small)
+     *
+     * @param pickup The type of the pickup
+     * @return True if the pickup is a point pickup
+     */
+    private static boolean isPoint(byte pickup) {
+        return pickup == POINT || pickup == LARGE_POINT;
+    }
+}
@@ -0,0 +1,272 @@
+package main;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * A Replay stores everything needed to re-simulate a game exactly: the seed used by the games random number
+ * generator, and the key presses received during the game, along with the tick each was processed on.
+ *
+ * Replays are saved in a compact binary format; a short header containing the seed and tick rate, followed by each
+ * key press (stored as the amount of ticks since the previous key press, and the key code, both as variable length
+ * integers), and finally the tick the game ended on and the hash of the games state at that point.
+ *
+ * @author Harry Felton - 18032692
+ * @see PacmanGame#startGame(long)
+ */
+public class Replay {
+    /**
+     * The bytes that begin every replay file ("PACR")
+     */
+    private static final int MAGIC = 0x50414352;
+
+    /**
+     * The version of the replay format written by this class
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The seed used by the games random number generator
+     */
+    protected final long seed;
+
+    /**
+     * The tick rate the game was simulated at; the game must be replayed at the same rate
+     */
+    protected final int tickRate;
+
+    /**
+     * The tick each key press was processed on, in the order they were received
+     */
+    protected int[] ticks = new int[32];
+
+    /**
+     * The key code of each key press, in the order they were received
+     */
+    protected int[] keyCodes = new int[32];
+
+    /**
+     * The amount of key presses recorded
+     */
+    protected int eventCount = 0;
+
+    /**
+     * The tick the game ended on, or -1 if the game hasn't ended yet
+     */
+    protected int endTick = -1;
+
+    /**
+     * The hash of the games state when it ended
+     *
+     * @see PacmanGame#getStateHash()
+     */
+    protected long stateHash = 0;
+
+    /**
+     * Constructs an empty replay for a game using the seed and tick rate provided
+     *
+     * @param seed The seed used by the games random number generator
+     * @param tickRate The amount of ticks per second the game is simulated at
+     */
+    public Replay(long seed, int tickRate) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Records a key press. Key presses must be recorded in the order they were processed.
+     *
+     * @param tick The tick the key press was processed on
+     * @param keyCode The key code of the key pressed
+     */
+    public void record(int tick, int keyCode) {
+        if(eventCount == ticks.length) {
+            ticks = Arrays.copyOf(ticks, eventCount * 2);
+            keyCodes = Arrays.copyOf(keyCodes, eventCount * 2);
+        }
+
+        ticks[eventCount] = tick;
+        keyCodes[eventCount] = keyCode;
+        eventCount++;
+    }
+
+    /**
+     * Marks the end of the game; no more key presses should be recorded after this
+     *
+     * @param tick The tick the game ended on
+     * @param stateHash The hash of the games state when it ended
+     */
+    public void finish(int tick, long stateHash) {
+        this.endTick = tick;
+        this.stateHash = stateHash;
+    }
+
+    /**
+     * Tests if the game this replay belongs to has ended
+     *
+     * @return True if the end of the game has been recorded
+     */
+    public boolean isFinished() {
+        return endTick >= 0;
+    }
+
+    /**
+     * Returns the seed used by the games random number generator
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the tick rate the game was simulated at
+     *
+     * @return The amount of ticks per second
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Returns the hash of the games state when it ended
+     *
+     * @return The state hash, or zero if the game hasn't ended yet
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Returns the amount of key presses recorded
+     *
+     * @return The amount of key presses
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the tick the key press provided was processed on
+     *
+     * @param index The index of the key press
+     * @return The tick
+     */
+    public int getTick(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Returns the key code of the key press provided
+     *
+     * @param index The index of the key press
+     * @return The key code
+     */
+    public int getKeyCode(int index) {
+        return keyCodes[index];
+    }
+
+    /**
+     * Returns the tick the game ended on
+     *
+     * @return The tick, or -1 if the game hasn't ended yet
+     */
+    public int getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Saves this replay to the file provided
+     *
+     * @param file The file to save to
+     * @throws IOException If the file cannot be written
+     */
+    public void save(File file) throws IOException {
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            writeVarInt(out, tickRate);
+            writeVarInt(out, eventCount);
+
+            int previousTick = 0;
+            for(int i = 0; i < eventCount; i++) {
+                writeVarInt(out, ticks[i] - previousTick);
+                writeVarInt(out, keyCodes[i]);
+                previousTick = ticks[i];
+            }
+
+            writeVarInt(out, endTick + 1);
+            out.writeLong(stateHash);
+        }
+    }
+
+    /**
+     * Loads a replay from the file provided
+     *
+     * @param file The file to load from
+     * @return The replay loaded
+     * @throws IOException If the file cannot be read, or is not a replay
+     */
+    public static Replay load(File file) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+
+            int version = in.readUnsignedByte();
+            if(version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + file);
+            }
+
+            long seed = in.readLong();
+            Replay replay = new Replay(seed, readVarInt(in));
+            int count = readVarInt(in);
+
+            int tick = 0;
+            for(int i = 0; i < count; i++) {
+                tick += readVarInt(in);
+                replay.record(tick, readVarInt(in));
+            }
+
+            replay.endTick = readVarInt(in) - 1;
+            replay.stateHash = in.readLong();
+            return replay;
+        }
+    }
+
+    /**
+     * Writes a non-negative integer using as few bytes as possible; seven bits per byte, with the highest
+     * bit set on every byte except the last.
+     *
+     * @param out The stream to write to
+     * @param value The value to write
+     * @throws IOException If the stream cannot be written to
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by {@code writeVarInt}
+     *
+     * @param in The stream to read from
+     * @return The value read
+     * @throws IOException If the stream cannot be read from
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed variable length integer in replay");
+    }
+}
@@ -0,0 +1,150 @@
+package main;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Re-simulates recorded games as fast as the machine allows, without a window or rendering, by feeding the recorded
+ * key presses back in to a headless game on the ticks they were originally processed. Once each game ends, the tick
+ * it ended on and the hash of it's state are compared against those recorded, so any change that alters how a game
+ * plays out is detected.
+ *
+ * Usage: {@code java main.ReplayRunner <replayFile> [repetitions]}
+ *
+ * The process exits with a non-zero status if any repetition diverges from the recording.
+ *
+ * @author Harry Felton - 18032692
+ * @see Replay
+ * @see PacmanGame#startGame(long)
+ */
+public class ReplayRunner {
+    /**
+     * The headless game used to re-simulate the replays
+     */
+    protected final PacmanGame game;
+
+    /**
+     * The amount of ticks simulated by the last run
+     */
+    protected int ticksSimulated = 0;
+
+    /**
+     * Constructs the runner using the headless game provided
+     *
+     * @param game The headless game to re-simulate replays with
+     */
+    public ReplayRunner(PacmanGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Re-simulates the replay provided from the start of the game until the game ends, or the tick the recorded
+     * game ended on has been simulated.
+     *
+     * @param replay The replay to re-simulate
+     * @return True if the game ended on the same tick, and in the same state, as the recorded game
+     */
+    public boolean run(Replay replay) {
+        double dt = 1. / replay.getTickRate();
+        int endTick = replay.getEndTick();
+        int eventCount = replay.getEventCount();
+        int event = 0;
+
+        game.startGame(replay.getSeed());
+        Replay result = game.getReplay();
+
+        // The recorded game ended part-way through it's final tick, so that tick is simulated too
+        while(!result.isFinished() && game.getGameTick() <= endTick) {
+            int tick = game.getGameTick();
+            while(event < eventCount && replay.getTick(event) == tick) {
+                game.keyPressed(replay.getKeyCode(event++));
+            }
+
+            game.update(dt);
+        }
+
+        ticksSimulated = game.getGameTick();
+        return result.isFinished()
+                && result.getEndTick() == endTick
+                && result.getStateHash() == replay.getStateHash();
+    }
+
+    /**
+     * Returns the amount of ticks simulated by the last run
+     *
+     * @return The amount of ticks
+     */
+    public int getTicksSimulated() {
+        return ticksSimulated;
+    }
+
+    /**
+     * Returns the game used to re-simulate the replays
+     *
+     * @return The headless game
+     */
+    public PacmanGame getGame() {
+        return game;
+    }
+
+    /**
+     * Entry point of the replay runner
+     *
+     * @param args The replay file to re-simulate, and the amount of times to re-simulate it (optional, defaults to 1)
+     */
+    public static void main(String[] args) {
+        if(args.length < 1) {
+            System.err.println("Usage: java main.ReplayRunner <replayFile> [repetitions]");
+            System.exit(-1);
+        }
+
+        Replay replay;
+        try {
+            replay = Replay.load(new File(args[0]));
+        } catch (IOException e) {
+            System.err.println("Failed to load replay from file.. " + e.getMessage());
+            e.printStackTrace();
+            System.exit(-1);
+            return;
+        }
+
+        if(!replay.isFinished()) {
+            System.err.println("Replay does not record the end of the game, so cannot be verified: " + args[0]);
+            System.exit(-1);
+        }
+
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        ReplayRunner runner = new ReplayRunner(PacmanGame.createHeadlessGame());
+
+        long totalTicks = 0;
+        int divergences = 0;
+        long start = System.nanoTime();
+        for(int i = 0; i < repetitions; i++) {
+            if(!runner.run(replay)) {
+                divergences++;
+            }
+
+            totalTicks += runner.getTicksSimulated();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.;
+
+        PacmanGame game = runner.getGame();
+        Replay result = game.getReplay();
+
+        System.out.printf("Seed: %016x%n", replay.getSeed());
+        System.out.println("Repetitions: " + repetitions);
+        System.out.println("Ticks simulated: " + totalTicks);
+        System.out.printf("Elapsed: %.2fs%n", elapsedSeconds);
+        System.out.printf("Ticks per second: %.0f%n", totalTicks / elapsedSeconds);
+        System.out.println("Final score: " + game.getPlayer().getScore());
+        System.out.printf("End tick: %d (recorded %d)%n", result.getEndTick(), replay.getEndTick());
+        System.out.printf("State hash: %016x (recorded %016x)%n", result.getStateHash(), replay.getStateHash());
+
+        if(divergences > 0) {
+            System.err.println("Replay diverged from the recording in " + divergences + " of " + repetitions + " repetitions");
+            System.exit(1);
+        }
+
+        System.out.println("Replay matches the recording");
+    }
+}
@@ -0,0 +1,130 @@
+package main;
+
+import java.awt.*;
+
+/**
+ * A RoutePath is a {@code Path} following the shortest route between two grid positions, as precomputed by the
+ * {@code Map}. Rather than storing every step up-front, each step is found using {@code Map.nextStep} when it's
+ * requested; only the steps actually followed are ever created.
+ *
+ * @author Harry Felton - 18032692
+ * @see Map#traceRoute(int, int, int, int)
+ */
+public class RoutePath extends Path {
+    /**
+     * The map the route is followed on
+     */
+    private final Map map;
+
+    /**
+     * The starting position of the route (grid relative)
+     */
+    private final int startX;
+    private final int startY;
+
+    /**
+     * The target position of the route (grid relative)
+     */
+    private final int targetX;
+    private final int targetY;
+
+    /**
+     * The amount of steps in the route, including the starting position
+     */
+    private final int stepCount;
+
+    /**
+     * The index and position of the step the route has been walked to so far
+     */
+    private int walkedIndex = 0;
+    private int walkedX;
+    private int walkedY;
+
+    /**
+     * The point returned for the step at {@code walkedIndex}, or null if it has not been requested yet. Kept so
+     * that the same step is always returned as the same point, as it is by {@code Path}.
+     */
+    private Point walkedStep;
+
+    /**
+     * Constructs a path following the shortest route provided by the map between the positions provided. A route
+     * must exist between the two positions.
+     *
+     * @param map The map the route is followed on
+     * @param sX The starting X position (grid relative)
+     * @param sY The starting Y position (grid relative)
+     * @param tX The target X position (grid relative)
+     * @param tY The target Y position (grid relative)
+     */
+    public RoutePath(Map map, int sX, int sY, int tX, int tY) {
+        this.map = map;
+        this.startX = sX;
+        this.startY = sY;
+        this.targetX = tX;
+        this.targetY = tY;
+        this.stepCount = map.getRouteDistance(sX, sY, tX, tY) + 1;
+        this.walkedX = sX;
+        this.walkedY = sY;
+    }
+
+    /**
+     * Steps are provided by the map; a RoutePath cannot be added to
+     *
+     * @param x The x position of the step
+     * @param y The y position of the step
+     */
+    @Override
+    public void addStep(int x, int y) {
+        throw new UnsupportedOperationException("The steps of a RoutePath are provided by the map");
+    }
+
+    /**
+     * Gets the step at the index provided, if the index is valid. The route is walked forwards to the step, so
+     * requesting the steps in order only walks the route once.
+     *
+     * @param index The index
+     * @return The step at the index provided, or null if the index is invalid/out of bounds
+     */
+    @Override
+    public Point getStep(int index) {
+        if(index < 0 || index >= stepCount) {
+            return null;
+        }
+
+        if(index < walkedIndex) {
+            // Walk the route again from the start
+            walkedIndex = 0;
+            walkedX = startX;
+            walkedY = startY;
+            walkedStep = null;
+        }
+
+        while(walkedIndex < index) {
+            switch(map.nextStep(walkedX, walkedY, targetX, targetY)) {
+                case LEFT -> walkedX--;
+                case RIGHT -> walkedX++;
+                case UP -> walkedY--;
+                case DOWN -> walkedY++;
+            }
+
+            walkedIndex++;
+            walkedStep = null;
+        }
+
+        if(walkedStep == null) {
+            walkedStep = new Point(walkedX, walkedY);
+        }
+
+        return walkedStep;
+    }
+
+    /**
+     * Returns the count of steps that exist in this path
+     *
+     * @return The count of steps
+     */
+    @Override
+    public int getStepCount() {
+        return stepCount;
+    }
+}
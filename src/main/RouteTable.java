@@ -0,0 +1,235 @@
+package main;
+
+import entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * The RouteTable stores the shortest distance, and the first step to take, between every pair of
+ * traversable grid positions on a {@code Map}. Maps never change once loaded, so this table is
+ * calculated once (via a breadth-first search from each traversable position) and allows routes to
+ * be looked up without any path finding.
+ *
+ * Only traversable positions are stored, so each position is first converted to a compact index
+ * before looking up the distance or direction between two positions.
+ *
+ * @author Harry Felton - 18032692
+ * @see Map#nextStep(int, int, int, int)
+ * @see Map#getRouteDistance(int, int, int, int)
+ */
+public class RouteTable {
+    /**
+     * The directions that are checked (in order) when finding the next step towards a target. The
+     * order matches the order the {@code PathFinder} searches neighbours in.
+     */
+    private static final Entity.DIRECTION[] STEP_DIRECTIONS = {
+            Entity.DIRECTION.LEFT,
+            Entity.DIRECTION.UP,
+            Entity.DIRECTION.DOWN,
+            Entity.DIRECTION.RIGHT
+    };
+
+    /**
+     * All possible directions, indexed by their ordinal. Used to decode the {@code nextDirections} table.
+     */
+    private static final Entity.DIRECTION[] DIRECTIONS = Entity.DIRECTION.values();
+
+    /**
+     * The distance used to mark a pair of positions that cannot reach each other
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * The compact index of each grid position, or -1 if the position is not traversable. Keyed by
+     * {@code y * HORIZONTAL_GRID_COUNT + x}.
+     */
+    private final int[] compactIndices;
+
+    /**
+     * The amount of traversable positions stored in this table
+     */
+    private final int size;
+
+    /**
+     * The distance (in steps) between each pair of traversable positions, keyed by
+     * {@code fromCompactIndex * size + toCompactIndex}.
+     */
+    private final short[] distances;
+
+    /**
+     * The ordinal of the direction to move in to take the first step from a position towards
+     * another, keyed the same way as {@code distances}.
+     */
+    private final byte[] nextDirections;
+
+    /**
+     * Constructs the RouteTable for the map points provided by running a breadth-first search
+     * from every traversable position.
+     *
+     * @param points The points of the map, as provided by {@code Map#getPoints()}
+     */
+    public RouteTable(int[] points) {
+        compactIndices = new int[points.length];
+        int count = 0;
+        for(int i = 0; i < points.length; i++) {
+            compactIndices[i] = points[i] != 0 ? count++ : -1;
+        }
+
+        size = count;
+        distances = new short[size * size];
+        nextDirections = new byte[size * size];
+        Arrays.fill(distances, (short) UNREACHABLE);
+        Arrays.fill(nextDirections, (byte) Entity.DIRECTION.NONE.ordinal());
+
+        int[] queue = new int[points.length];
+        for(int target = 0; target < points.length; target++) {
+            if(compactIndices[target] != -1) {
+                searchFrom(target, queue);
+            }
+        }
+    }
+
+    /**
+     * Runs a breadth-first search outwards from the target provided, recording the distance from every
+     * reachable position to the target, and the direction each of those positions must move in to get
+     * one step closer to it.
+     *
+     * @param target The grid index of the target position
+     * @param queue A scratch array used as the search queue, must be large enough to hold every grid position
+     */
+    private void searchFrom(int target, int[] queue) {
+        int targetIndex = compactIndices[target];
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = target;
+        distances[tableIndex(targetIndex, targetIndex)] = 0;
+
+        while(head < tail) {
+            int current = queue[head++];
+            int currentDistance = distances[tableIndex(compactIndices[current], targetIndex)];
+
+            for(Entity.DIRECTION d : STEP_DIRECTIONS) {
+                int neighbour = getNeighbour(current, d);
+                if(neighbour == -1 || compactIndices[neighbour] == -1) {
+                    continue;
+                }
+
+                int entry = tableIndex(compactIndices[neighbour], targetIndex);
+                if(distances[entry] == UNREACHABLE) {
+                    distances[entry] = (short) (currentDistance + 1);
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        // With every distance known, find the first step each position must take towards the target
+        for(int i = 0; i < tail; i++) {
+            int position = queue[i];
+            int entry = tableIndex(compactIndices[position], targetIndex);
+            int distance = distances[entry];
+            if(distance == 0) {
+                continue;
+            }
+
+            for(Entity.DIRECTION d : STEP_DIRECTIONS) {
+                int neighbour = getNeighbour(position, d);
+                if(neighbour != -1 && compactIndices[neighbour] != -1 && distances[tableIndex(compactIndices[neighbour], targetIndex)] == distance - 1) {
+                    nextDirections[entry] = (byte) d.ordinal();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the grid index of the position one step away from the position provided, in the direction given
+     *
+     * @param index The grid index to step from
+     * @param d The direction to step in
+     * @return The grid index of the neighbouring position, or -1 if the step leaves the map
+     */
+    private int getNeighbour(int index, Entity.DIRECTION d) {
+        int width = PacmanGame.HORIZONTAL_GRID_COUNT;
+        int x = index % width;
+        int y = index / width;
+
+        switch(d) {
+            case LEFT -> x--;
+            case RIGHT -> x++;
+            case UP -> y--;
+            case DOWN -> y++;
+        }
+
+        if(x < 0 || y < 0 || x >= width || y >= PacmanGame.VERTICAL_GRID_COUNT) {
+            return -1;
+        }
+
+        return (y * width) + x;
+    }
+
+    /**
+     * Converts a pair of compact indices in to an index in to the {@code distances} and {@code nextDirections} tables
+     *
+     * @param from The compact index of the position we're starting from
+     * @param to The compact index of the position we're heading to
+     * @return The table index
+     */
+    private int tableIndex(int from, int to) {
+        return (from * size) + to;
+    }
+
+    /**
+     * Converts a grid-based position to its compact index
+     *
+     * @param x The grid-based X position
+     * @param y The grid-based Y position
+     * @return The compact index, or -1 if the position is outside the map or is not traversable
+     */
+    private int compactIndex(int x, int y) {
+        if(x < 0 || y < 0 || x >= PacmanGame.HORIZONTAL_GRID_COUNT || y >= PacmanGame.VERTICAL_GRID_COUNT) {
+            return -1;
+        }
+
+        return compactIndices[(y * PacmanGame.HORIZONTAL_GRID_COUNT) + x];
+    }
+
+    /**
+     * Returns the amount of steps required to travel between the two grid-based positions provided
+     *
+     * @param fX The starting X position
+     * @param fY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @return The amount of steps, or {@code UNREACHABLE} if no route exists between the positions
+     */
+    public int getDistance(int fX, int fY, int tX, int tY) {
+        int from = compactIndex(fX, fY);
+        int to = compactIndex(tX, tY);
+        if(from == -1 || to == -1) {
+            return UNREACHABLE;
+        }
+
+        return distances[tableIndex(from, to)];
+    }
+
+    /**
+     * Returns the direction to move in to take the first step along the shortest route between the
+     * two grid-based positions provided
+     *
+     * @param fX The starting X position
+     * @param fY The starting Y position
+     * @param tX The target X position
+     * @param tY The target Y position
+     * @return The direction of the first step, or {@code NONE} if the positions are the same or no route exists
+     */
+    public Entity.DIRECTION getNextDirection(int fX, int fY, int tX, int tY) {
+        int from = compactIndex(fX, fY);
+        int to = compactIndex(tX, tY);
+        if(from == -1 || to == -1) {
+            return Entity.DIRECTION.NONE;
+        }
+
+        return DIRECTIONS[nextDirections[tableIndex(from, to)]];
+    }
+}
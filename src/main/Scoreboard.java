@@ -1,5 +1,7 @@
 package main;
 
+import events.ScoreboardSaveEvent;
+
 import java.io.*;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -22,11 +24,20 @@ public class Scoreboard implements Serializable {
     private final int TOP_SCORES_TO_SHOW = 5;
     private final ArrayList<Integer> topScores = new ArrayList<>();
 
+    /**
+     * If true, this scoreboard is never saved to file
+     *
+     * @see #createInMemory()
+     */
+    private transient boolean inMemory = false;
+
     /**
      * Save this instance of Scoreboard to the file specified
      * in {@code SCOREBOARD_PATH}
      */
     public void save() {
+        if(inMemory) return;
+
         Scoreboard.saveScoreboard(this);
     }
 
@@ -74,6 +85,19 @@ public class Scoreboard implements Serializable {
         return TOP_SCORES_TO_SHOW;
     }
 
+    /**
+     * Creates an empty scoreboard that is never saved to file; used when the scores achieved should
+     * not be kept, such as during a headless simulation.
+     *
+     * @return The new scoreboard
+     */
+    public static Scoreboard createInMemory() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.inMemory = true;
+
+        return scoreboard;
+    }
+
     /**
      * Loads the scoreboard instance from the file {@code SCOREBOARD_PATH} and returns it. If
      * loading fails (e.g. file does not exist), a new scoreboard instance is returned for use instead.
@@ -104,6 +128,9 @@ public class Scoreboard implements Serializable {
      * @param scoreboard The scoreboard to save
      */
     public static void saveScoreboard(Scoreboard scoreboard) {
+        ScoreboardSaveEvent event = new ScoreboardSaveEvent();
+        event.begin();
+
         try {
             ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(SCOREBOARD_PATH));
 
@@ -111,10 +138,17 @@ public class Scoreboard implements Serializable {
             out.flush();
             out.close();
 
+            event.success = true;
             System.out.println("Updated Scoreboard in local fs");
         } catch (Exception e) {
             System.err.println("Failed to save scoreboard to file.. " + e.getMessage());
             e.printStackTrace();
         }
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.scoreCount = scoreboard.topScores.size();
+            event.commit();
+        }
     }
 }
@@ -49,6 +49,13 @@ public class SoundEffect {
      */
     private Clip mLoopClip;
 
+    /**
+     * If true, this sound effect has no audio and playing it does nothing
+     *
+     * @see #createSilent()
+     */
+    private final boolean silent;
+
     /**
      * Gets the loop clip to use, if any exists
      *
@@ -136,6 +143,29 @@ public class SoundEffect {
         }
 
         mLoopClip = null;
+        silent = false;
+    }
+
+    /**
+     * Constructs a silent sound effect, with no audio data
+     *
+     * @see #createSilent()
+     */
+    protected SoundEffect() {
+        format = null;
+        bufferLength = 0;
+        data = new byte[0];
+        mLoopClip = null;
+        silent = true;
+    }
+
+    /**
+     * Tests if this sound effect is silent
+     *
+     * @return True if playing this sound effect does nothing
+     */
+    public boolean isSilent() {
+        return silent;
     }
 
     /**
@@ -169,6 +199,8 @@ public class SoundEffect {
      * @param volume The volume (decibels) to play at
      */
     public void playOnce(float volume) {
+        if(silent) return;
+
         Clip c;
         try {
             c = generateClip(volume);
@@ -195,6 +227,8 @@ public class SoundEffect {
      * @throws SoundEffectException Thrown when a failure occurs during the creation of the audio clip
      */
     public void playLoop(float volume) throws SoundEffectException {
+        if(silent) return;
+
         Clip c = getLoopClip();
         if(c == null) {
             try {
@@ -238,6 +272,16 @@ public class SoundEffect {
         }
     }
 
+    /**
+     * Creates a silent sound effect, which does nothing when played. Used when the game is running without
+     * any audio output, such as during a headless simulation.
+     *
+     * @return The silent sound effect
+     */
+    public static SoundEffect createSilent() {
+        return new SoundEffect();
+    }
+
     /**
      * Loads the sound effect by opening an audio stream at the path provided, and loading the audio
      * data in to a {@code SoundEffect} instance.
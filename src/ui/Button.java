@@ -279,7 +279,7 @@ public class Button extends Component implements UIMouseReactive {
      * @see #padding
      */
     public double getWidth() {
-        return text.getRenderedWidth() + (2*padding);
+        return text.getRenderedWidth(gameInstance) + (2*padding);
     }
 
     /**
@@ -290,7 +290,7 @@ public class Button extends Component implements UIMouseReactive {
      * @see #padding
      */
     public double getHeight() {
-        return text.getRenderedHeight() + (2*padding);
+        return text.getRenderedHeight(gameInstance) + (2*padding);
     }
 
     /**
@@ -69,7 +69,7 @@ public class Label extends ColouredComponent {
      */
     @Override
     public double getWidth() {
-        return text.getRenderedWidth();
+        return text.getRenderedWidth(gameInstance);
     }
 
     /**
@@ -79,7 +79,7 @@ public class Label extends ColouredComponent {
      */
     @Override
     public double getHeight() {
-        return text.getRenderedHeight();
+        return text.getRenderedHeight(gameInstance);
     }
 
     /**
@@ -163,11 +163,11 @@ public class Text {
     /**
      * Calculates the width of the text when rendered using the font information provided
      *
+     * @param game The game instance whose graphics the text will be rendered with
      * @return Returns the width of the rendered text
      */
-    public int getRenderedWidth() {
+    public int getRenderedWidth(PacmanGame game) {
         // Get the graphics renderer from our engine
-        PacmanGame game = PacmanGame.getGameInstance();
         Graphics g = game.getGameGraphics();
 
         // Store the old font here for later
@@ -185,11 +185,11 @@ public class Text {
     /**
      * Calculates the height of the text when rendered using the font information provided
      *
+     * @param game The game instance whose graphics the text will be rendered with
      * @return Returns the height of the rendered text
      */
-    public int getRenderedHeight() {
+    public int getRenderedHeight(PacmanGame game) {
         // Get the graphics renderer from our engine
-        PacmanGame game = PacmanGame.getGameInstance();
         Graphics g = game.getGameGraphics();
 
         // Store the old font here for later